@@ -0,0 +1,121 @@
+package com.behl.receptacle.configuration;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * <p>
+ * Maps cache configuration values defined in the active .yaml file to the instance variables
+ * defined below. The configuration properties would be used to tune the operations performed
+ * against the provisioned Redis cache.
+ * </p>
+ * 
+ * <p>
+ * Example .yaml code snippet:
+ * <pre>
+ * {@code
+ * com:
+ *   behl:
+ *     receptacle:
+ *       cache:
+ *         bulk-invalidation:
+ *           scan-batch-size: 500
+ *           max-keys-per-second: 10000
+ *         users:
+ *           enabled: true
+ *           time-to-live: 10m
+ *           negative-time-to-live: 30s
+ * }
+ * </pre>
+ * </p>
+ * 
+ * @see com.behl.receptacle.service.CacheService
+ */
+@Getter
+@Setter
+@Validated
+@ConfigurationProperties(prefix = "com.behl.receptacle.cache")
+public class CacheConfigurationProperties {
+
+    @Valid
+    private BulkInvalidation bulkInvalidation = new BulkInvalidation();
+    
+    @Valid
+    private Users users = new Users();
+
+    @Getter
+    @Setter
+    public class BulkInvalidation {
+
+        /**
+         * <p>
+         * Number of keys requested from Redis per SCAN iteration and removed per UNLINK command.
+         * This property corresponds to the key
+         * <code>com.behl.receptacle.cache.bulk-invalidation.scan-batch-size</code> in the active
+         * .yaml configuration file.
+         * </p>
+         */
+        @NotNull(message = "Cache bulk invalidation scan batch size must be specified")
+        @Positive(message = "Cache bulk invalidation scan batch size must be a positive value")
+        private Integer scanBatchSize;
+
+        /**
+         * <p>
+         * Upper limit on the number of keys removed per second during a bulk invalidation, to
+         * avoid starving the production traffic served by the cache. This property corresponds to
+         * the key <code>com.behl.receptacle.cache.bulk-invalidation.max-keys-per-second</code> in
+         * the active .yaml configuration file.
+         * </p>
+         */
+        @NotNull(message = "Cache bulk invalidation throughput limit must be specified")
+        @Positive(message = "Cache bulk invalidation throughput limit must be a positive value")
+        private Integer maxKeysPerSecond;
+
+    }
+
+    @Getter
+    @Setter
+    public class Users {
+
+        /**
+         * <p>
+         * Indicates whether user records are to be served from the cache, with the datasource
+         * queried only on a cache miss. This property corresponds to the key
+         * <code>com.behl.receptacle.cache.users.enabled</code> in the active .yaml configuration
+         * file.
+         * </p>
+         * 
+         * @see com.behl.receptacle.service.PersistenceService#getUserDetailsById(java.util.UUID)
+         */
+        private boolean enabled;
+
+        /**
+         * <p>
+         * Duration for which a user record fetched from the datasource is cached. This property
+         * corresponds to the key <code>com.behl.receptacle.cache.users.time-to-live</code> in the
+         * active .yaml configuration file.
+         * </p>
+         */
+        @NotNull(message = "User cache time-to-live must be specified")
+        private Duration timeToLive;
+
+        /**
+         * <p>
+         * Duration for which the absence of a user record in the datasource is cached, shielding
+         * the datasource from repeated lookups of non-existent user IDs. This property corresponds
+         * to the key <code>com.behl.receptacle.cache.users.negative-time-to-live</code> in the
+         * active .yaml configuration file.
+         * </p>
+         */
+        @NotNull(message = "User cache negative time-to-live must be specified")
+        private Duration negativeTimeToLive;
+
+    }
+
+}
@@ -1,6 +1,11 @@
 package com.behl.receptacle.configuration;
 
+import java.time.Duration;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -8,7 +13,8 @@ import lombok.Setter;
  * <p>
  * Maps the Email Client properties from the active .yaml configuration file to the instance
  * variables defined below. These properties are used to connect and authenticate with the
- * provisioned email server to send email notifications.
+ * provisioned email server to send email notifications, over connections pooled and kept alive
+ * across the notifications sent.
  * </p>
  *
  * <p>
@@ -21,6 +27,15 @@ import lombok.Setter;
  *       email:
  *         base-url: email-server-base-url
  *         api-key: email-server-api-key
+ *         connect-timeout: 10s
+ *         read-timeout: 10s
+ *         pool:
+ *           max-connections: 50
+ *           max-connections-per-route: 20
+ *           connection-request-timeout: 5s
+ *           keep-alive: 30s
+ *           max-idle-time: 30s
+ *           time-to-live: 5m
  * }
  * </pre>
  * </p>
@@ -29,6 +44,7 @@ import lombok.Setter;
  */
 @Getter
 @Setter
+@Validated
 @ConfigurationProperties(prefix = "com.behl.receptacle.email")
 public class EmailClientConfigurationProperties {
 
@@ -49,4 +65,100 @@ public class EmailClientConfigurationProperties {
      */
     private String apiKey;
 
-}
\ No newline at end of file
+    /**
+     * <p>
+     * Maximum time to wait for a connection to the Email Server to be established. This property
+     * corresponds to the key <code>com.behl.receptacle.email.connect-timeout</code> in the active
+     * .yaml configuration file.
+     * </p>
+     */
+    @NotNull(message = "Email client connect timeout must be specified")
+    private Duration connectTimeout;
+
+    /**
+     * <p>
+     * Maximum time of inactivity to wait for while reading the response of the Email Server. This
+     * property corresponds to the key <code>com.behl.receptacle.email.read-timeout</code> in the
+     * active .yaml configuration file.
+     * </p>
+     */
+    @NotNull(message = "Email client read timeout must be specified")
+    private Duration readTimeout;
+
+    @Valid
+    private Pool pool = new Pool();
+
+    @Getter
+    @Setter
+    public class Pool {
+
+        /**
+         * <p>
+         * Maximum number of connections held open to the Email Server across all routes. This
+         * property corresponds to the key <code>com.behl.receptacle.email.pool.max-connections</code>
+         * in the active .yaml configuration file.
+         * </p>
+         */
+        @NotNull(message = "Email client pool max connections must be specified")
+        @Positive(message = "Email client pool max connections must be a positive value")
+        private Integer maxConnections;
+
+        /**
+         * <p>
+         * Maximum number of connections held open to a single host, bounding the number of
+         * notifications sent concurrently to it. This property corresponds to the key
+         * <code>com.behl.receptacle.email.pool.max-connections-per-route</code> in the active .yaml
+         * configuration file.
+         * </p>
+         */
+        @NotNull(message = "Email client pool max connections per route must be specified")
+        @Positive(message = "Email client pool max connections per route must be a positive value")
+        private Integer maxConnectionsPerRoute;
+
+        /**
+         * <p>
+         * Maximum time to wait for a connection to be leased from the pool once all of them are in
+         * use. This property corresponds to the key
+         * <code>com.behl.receptacle.email.pool.connection-request-timeout</code> in the active .yaml
+         * configuration file.
+         * </p>
+         */
+        @NotNull(message = "Email client pool connection request timeout must be specified")
+        private Duration connectionRequestTimeout;
+
+        /**
+         * <p>
+         * Time for which a connection is kept alive for reuse when the Email Server does not
+         * advertise one through the <code>Keep-Alive</code> response header. This property
+         * corresponds to the key <code>com.behl.receptacle.email.pool.keep-alive</code> in the active
+         * .yaml configuration file.
+         * </p>
+         */
+        @NotNull(message = "Email client pool keep alive must be specified")
+        private Duration keepAlive;
+
+        /**
+         * <p>
+         * Time after which idle connections are evicted from the pool in the background, before the
+         * Email Server or an intermediary closes them. This property corresponds to the key
+         * <code>com.behl.receptacle.email.pool.max-idle-time</code> in the active .yaml configuration
+         * file.
+         * </p>
+         */
+        @NotNull(message = "Email client pool max idle time must be specified")
+        private Duration maxIdleTime;
+
+        /**
+         * <p>
+         * Maximum lifetime of a connection, post which it is closed instead of being reused so that
+         * changes to the addresses of the Email Server are picked up. This property corresponds to
+         * the key <code>com.behl.receptacle.email.pool.time-to-live</code> in the active .yaml
+         * configuration file.
+         * </p>
+         */
+        @NotNull(message = "Email client pool time to live must be specified")
+        private Duration timeToLive;
+
+    }
+
+}
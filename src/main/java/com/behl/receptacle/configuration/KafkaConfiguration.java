@@ -1,15 +1,49 @@
 package com.behl.receptacle.configuration;
 
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.Serializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.core.ConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaProducerFactory;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.MicrometerConsumerListener;
+import org.springframework.kafka.core.MicrometerProducerListener;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.kafka.retrytopic.RetryTopicConfiguration;
+import org.springframework.kafka.retrytopic.RetryTopicConfigurationBuilder;
+import org.springframework.kafka.support.serializer.DelegatingByTopicDeserializer;
+import org.springframework.kafka.support.serializer.DelegatingByTopicSerializer;
+import org.springframework.kafka.support.serializer.DelegatingByTypeSerializer;
+import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
 import org.springframework.kafka.support.serializer.JsonSerializer;
+import org.springframework.kafka.transaction.KafkaTransactionManager;
+import org.springframework.util.StringUtils;
+import org.springframework.util.backoff.ExponentialBackOff;
+import org.springframework.util.backoff.FixedBackOff;
 import org.springframework.validation.annotation.Validated;
+import com.behl.receptacle.dto.CustomerDto;
+import com.behl.receptacle.serialization.AvroDeserializer;
+import com.behl.receptacle.serialization.AvroSerializer;
+import com.behl.receptacle.serialization.LocalSchemaRegistry;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.validation.constraints.NotBlank;
 import lombok.Getter;
 import lombok.Setter;
@@ -19,6 +53,7 @@ import lombok.Setter;
 @Validated
 @Configuration
 @ConfigurationProperties(prefix = "com.behl.receptacle.kafka.topic-name")
+@EnableConfigurationProperties({ KafkaListenerConfigurationProperties.class, KafkaEncodingConfigurationProperties.class })
 public class KafkaConfiguration {
     
     /**
@@ -41,19 +76,298 @@ public class KafkaConfiguration {
      */
     @NotBlank(message = "customer account risk assessment topic name must be configured")
     private String customerAccountRiskAssessment;
+
+    /**
+     * <p>
+     * The kafka topic name to which customer registration events failing to be processed are to be
+     * published, to be retried without blocking the consumption of the customer registration event
+     * topic. The topics of the subsequent attempts and the dead-letter topic are named after it. This
+     * property corresponds to the key
+     * <code>com.behl.receptacle.kafka.topic-name.customer-registered-event-retry</code> in the active
+     * .yaml configuration file.
+     * </p>
+     */
+    @NotBlank(message = "customer registered event retry topic name must be configured")
+    private String customerRegisteredEventRetry;
   
+    /**
+     * Registers the {@link KafkaTemplate} for publishing objects as JSON. The batching, compression,
+     * idempotence and in-flight request settings of the producer are taken from
+     * <code>spring.kafka.producer.*</code> in the active .yaml configuration file.
+     * 
+     * The latency and outcome of every send are recorded by the completion callback of the template
+     * as the <code>spring.kafka.template</code> timer, tagged with the <code>result</code> and
+     * <code>exception</code> of the send, while failed sends are logged by its default producer
+     * listener. The metrics of the underlying producer, such as the average batch size, compression
+     * rate and record error rate, are published as <code>kafka.producer.*</code> metrics.
+     * 
+     * Customers published to the topics configured under
+     * <code>com.behl.receptacle.kafka.encoding.avro-topics</code> are serialized with the Avro
+     * binary encoding, while all other objects are serialized as JSON. Strings and byte arrays, such
+     * as the values of the records recovered to the retry topic within a transaction, are published
+     * as is.
+     * 
+     * If <code>com.behl.receptacle.kafka.listener.transaction-id-prefix</code> is configured, the
+     * producer is transactional, while sends made outside a transaction are still allowed through a
+     * non-transactional producer.
+     */
     @Bean
-    public KafkaTemplate<String, Object> kafkaTemplate(final KafkaProperties kafkaProperties) {
+    public KafkaTemplate<String, Object> kafkaTemplate(final KafkaProperties kafkaProperties,
+            final KafkaEncodingConfigurationProperties kafkaEncodingConfigurationProperties,
+            final KafkaListenerConfigurationProperties kafkaListenerConfigurationProperties, final ObjectProvider<MeterRegistry> meterRegistry) {
         final var kafkaProducerProperties = kafkaProperties.buildProducerProperties();
         final var producerFactory = new DefaultKafkaProducerFactory<String, Object>(kafkaProducerProperties);
-        producerFactory.setValueSerializer(new JsonSerializer<>());
-        return new KafkaTemplate<>(producerFactory);
+        final var jsonSerializer = new JsonSerializer<Object>();
+        final var valueSerializers = new LinkedHashMap<Class<?>, Serializer<?>>();
+        valueSerializers.put(String.class, new StringSerializer());
+        valueSerializers.put(byte[].class, new ByteArraySerializer());
+        valueSerializers.put(Object.class, kafkaEncodingConfigurationProperties.getAvroTopics().isEmpty() ? jsonSerializer
+                : new DelegatingByTopicSerializer(getAvroTopicDelegates(kafkaEncodingConfigurationProperties, createCustomerAvroSerializer(kafkaEncodingConfigurationProperties)), jsonSerializer));
+        producerFactory.setValueSerializer(new DelegatingByTypeSerializer(valueSerializers, true));
+        final var transactionIdPrefix = kafkaListenerConfigurationProperties.getTransactionIdPrefix();
+        if (StringUtils.hasText(transactionIdPrefix)) {
+            producerFactory.setTransactionIdPrefix(transactionIdPrefix);
+        }
+        final var kafkaTemplate = createKafkaTemplate(producerFactory, meterRegistry);
+        kafkaTemplate.setAllowNonTransactional(true);
+        return kafkaTemplate;
+    }
+    
+    /**
+     * Registers a {@link KafkaTemplate} publishing values serialized ahead of time, such as the JSON
+     * payloads of outbox events, as is. The producer is configured and instrumented as the one of
+     * {@link #kafkaTemplate(KafkaProperties, KafkaEncodingConfigurationProperties, KafkaListenerConfigurationProperties, ObjectProvider)}.
+     * 
+     * @see com.behl.receptacle.service.OutboxRelayService
+     */
+    @Bean
+    public KafkaTemplate<String, String> outboxKafkaTemplate(final KafkaProperties kafkaProperties, final ObjectProvider<MeterRegistry> meterRegistry) {
+        final var kafkaProducerProperties = kafkaProperties.buildProducerProperties();
+        final var producerFactory = new DefaultKafkaProducerFactory<String, String>(kafkaProducerProperties);
+        producerFactory.setValueSerializer(new StringSerializer());
+        return createKafkaTemplate(producerFactory, meterRegistry);
     }
     
+    /**
+     * Registers the {@link ConsumerFactory} for the listeners of the application. The poll and fetch
+     * settings, such as <code>max-poll-records</code>, <code>fetch-min-size</code>,
+     * <code>fetch-max-wait</code> and <code>max.partition.fetch.bytes</code>, are taken from
+     * <code>spring.kafka.consumer.*</code> in the active .yaml configuration file.
+     * 
+     * Values consumed from the topics configured under
+     * <code>com.behl.receptacle.kafka.encoding.avro-topics</code> are deserialized into customers
+     * from the Avro binary encoding, with the schemas they were written with resolved from the
+     * {@link LocalSchemaRegistry}, while all other values are delivered as strings. A value which
+     * cannot be deserialized is delivered as <code>null</code> instead of failing the poll, for the
+     * listener to fail on it.
+     */
     @Bean
-    public ConsumerFactory<String, Object> consumerFactory(final KafkaProperties kafkaProperties) {
+    public ConsumerFactory<String, Object> consumerFactory(final KafkaProperties kafkaProperties,
+            final KafkaEncodingConfigurationProperties kafkaEncodingConfigurationProperties, final LocalSchemaRegistry localSchemaRegistry,
+            final ObjectProvider<MeterRegistry> meterRegistry) {
         final var kafkaConsumerProperties = kafkaProperties.buildConsumerProperties();
-        return new DefaultKafkaConsumerFactory<>(kafkaConsumerProperties);
+        final var consumerFactory = new DefaultKafkaConsumerFactory<String, Object>(kafkaConsumerProperties);
+        if (!kafkaEncodingConfigurationProperties.getAvroTopics().isEmpty()) {
+            final var customerSchema = LocalSchemaRegistry.parse(kafkaEncodingConfigurationProperties.getCustomerSchema());
+            final var customerDeserializer = new AvroDeserializer<CustomerDto>(customerSchema, localSchemaRegistry);
+            consumerFactory.setValueDeserializer(new ErrorHandlingDeserializer<>(new DelegatingByTopicDeserializer(
+                    getAvroTopicDelegates(kafkaEncodingConfigurationProperties, customerDeserializer), new StringDeserializer())));
+        }
+        meterRegistry.ifAvailable(registry -> consumerFactory.addListener(new MicrometerConsumerListener<>(registry)));
+        return consumerFactory;
+    }
+    
+    /**
+     * Registers a listener container factory delivering all the records returned by a poll to the
+     * listener in a single invocation. The number of consumers per listener and the point at which
+     * offsets are committed are taken from <code>com.behl.receptacle.kafka.listener.*</code> in the
+     * active .yaml configuration file.
+     * 
+     * If the {@link KafkaTemplate} is transactional, the container begins a transaction before
+     * delivering each batch, in which the records sent by the listener and the offsets of the batch
+     * are committed together. The cost of the transaction is thereby spread over all the records of
+     * the batch. The error handler is then replaced by a {@link TransactionalBatchAfterRollbackProcessor},
+     * as it would commit offsets and publish to the retry topic outside the transaction, which is
+     * rolled back regardless. The record a batch failed at is instead published to the customer
+     * registered event retry topic through the transactional template, within a transaction of its
+     * own in which its offset is committed. Events which cannot be deserialized are published right
+     * away, while other failures, such as commands rejected by the broker, redeliver the batch with
+     * the backoff configured under <code>com.behl.receptacle.kafka.listener.retry.*</code> until
+     * they succeed, as the whole transaction is discarded along with them.
+     * 
+     * @see KafkaListenerConfigurationProperties
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, Object> batchKafkaListenerContainerFactory(final ConsumerFactory<String, Object> consumerFactory,
+            final KafkaListenerConfigurationProperties kafkaListenerConfigurationProperties, final DefaultErrorHandler batchErrorHandler,
+            final KafkaTemplate<String, Object> kafkaTemplate) {
+        final var containerFactory = new ConcurrentKafkaListenerContainerFactory<String, Object>();
+        containerFactory.setConsumerFactory(consumerFactory);
+        containerFactory.setBatchListener(true);
+        containerFactory.setConcurrency(kafkaListenerConfigurationProperties.getConcurrency());
+        containerFactory.getContainerProperties().setAckMode(kafkaListenerConfigurationProperties.getAckMode());
+        if (kafkaTemplate.isTransactional()) {
+            final var afterRollbackProcessor = createAfterRollbackProcessor(kafkaTemplate, kafkaListenerConfigurationProperties);
+            containerFactory.getContainerProperties().setTransactionManager(new KafkaTransactionManager<>(kafkaTemplate.getProducerFactory()));
+            containerFactory.setAfterRollbackProcessor(afterRollbackProcessor);
+            containerFactory.setBatchInterceptor(afterRollbackProcessor);
+        } else {
+            containerFactory.setCommonErrorHandler(batchErrorHandler);
+        }
+        return containerFactory;
+    }
+    
+    /**
+     * Registers the error handler of the non-transactional batch listeners, which publishes the
+     * record a batch failed at to the customer registered event retry topic right away, instead of
+     * retrying it in place and blocking the partition. The offsets of the records preceding the
+     * failed one are committed, and the records following it are redelivered to the listener.
+     * 
+     * @see #retryTopicConfiguration(KafkaTemplate, KafkaListenerConfigurationProperties)
+     */
+    @Bean
+    public DefaultErrorHandler batchErrorHandler(final KafkaTemplate<Object, Object> retryKafkaTemplate) {
+        final var recoverer = new DeadLetterPublishingRecoverer(retryKafkaTemplate,
+                (record, exception) -> new TopicPartition(customerRegisteredEventRetry, -1));
+        return new DefaultErrorHandler(recoverer, new FixedBackOff(0L, 0L));
+    }
+    
+    /**
+     * Registers a {@link KafkaTemplate} republishing consumed records to the retry and dead-letter
+     * topics with their original key and value, which are serialized based on their type as they
+     * were deserialized by the consumer. Customers are only received from topics encoded with Avro,
+     * hence are serialized back with the Avro binary encoding.
+     */
+    @Bean
+    public KafkaTemplate<Object, Object> retryKafkaTemplate(final KafkaProperties kafkaProperties,
+            final KafkaEncodingConfigurationProperties kafkaEncodingConfigurationProperties, final ObjectProvider<MeterRegistry> meterRegistry) {
+        final var kafkaProducerProperties = kafkaProperties.buildProducerProperties();
+        final var producerFactory = new DefaultKafkaProducerFactory<Object, Object>(kafkaProducerProperties);
+        producerFactory.setValueSerializer(new DelegatingByTypeSerializer(Map.of(
+                String.class, new StringSerializer(),
+                byte[].class, new ByteArraySerializer(),
+                CustomerDto.class, createCustomerAvroSerializer(kafkaEncodingConfigurationProperties))));
+        return createKafkaTemplate(producerFactory, meterRegistry);
+    }
+    
+    /**
+     * Configures non-blocking retries for the records published to the customer registered event
+     * retry topic. Every failed attempt forwards the record to the next retry topic, consumed once
+     * its exponentially growing delay elapses, until the attempts configured under
+     * <code>com.behl.receptacle.kafka.listener.retry.*</code> are exhausted and the record is
+     * published to the dead-letter topic. Records which cannot be deserialized are sent to the
+     * dead-letter topic without being retried.
+     * 
+     * The retry and dead-letter topics are expected to exist or be created by the broker, as are the
+     * other topics of the application.
+     * 
+     * @see com.behl.receptacle.listener.CustomerRegisteredEventRetryListener
+     */
+    @Bean
+    public RetryTopicConfiguration retryTopicConfiguration(final KafkaTemplate<Object, Object> retryKafkaTemplate,
+            final KafkaListenerConfigurationProperties kafkaListenerConfigurationProperties) {
+        final var retry = kafkaListenerConfigurationProperties.getRetry();
+        return RetryTopicConfigurationBuilder.newInstance()
+                .includeTopic(customerRegisteredEventRetry)
+                .maxAttempts(retry.getMaxAttempts())
+                .exponentialBackoff(retry.getInitialBackoff().toMillis(), retry.getMultiplier(), retry.getMaxBackoff().toMillis())
+                .notRetryOn(JsonProcessingException.class)
+                .traversingCauses()
+                .dltHandlerMethod("customerRegisteredEventRetryListener", "handleDeadLetter")
+                .listenerFactory("retryKafkaListenerContainerFactory")
+                .doNotAutoCreateRetryTopics()
+                .create(retryKafkaTemplate);
+    }
+    
+    /**
+     * Registers a listener container factory delivering records to the listener one at a time, as
+     * required by the non-blocking retries.
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, Object> retryKafkaListenerContainerFactory(final ConsumerFactory<String, Object> consumerFactory) {
+        final var containerFactory = new ConcurrentKafkaListenerContainerFactory<String, Object>();
+        containerFactory.setConsumerFactory(consumerFactory);
+        return containerFactory;
+    }
+
+    /**
+     * Registers a {@link KafkaTemplate} publishing values as the raw bytes received from another
+     * topic, along with their headers. The producer is configured and instrumented as the one of
+     * {@link #kafkaTemplate(KafkaProperties, KafkaEncodingConfigurationProperties, KafkaListenerConfigurationProperties, ObjectProvider)}.
+     * 
+     * @see com.behl.receptacle.listener.CustomerRegisteredEventPassthroughListener
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "com.behl.receptacle.kafka.listener", name = "relay-mode", havingValue = "passthrough")
+    public KafkaTemplate<String, byte[]> passthroughKafkaTemplate(final KafkaProperties kafkaProperties, final ObjectProvider<MeterRegistry> meterRegistry) {
+        final var kafkaProducerProperties = kafkaProperties.buildProducerProperties();
+        final var producerFactory = new DefaultKafkaProducerFactory<String, byte[]>(kafkaProducerProperties);
+        producerFactory.setValueSerializer(new ByteArraySerializer());
+        return createKafkaTemplate(producerFactory, meterRegistry);
+    }
+    
+    /**
+     * Registers a batch listener container factory, configured as
+     * {@link #batchKafkaListenerContainerFactory(ConsumerFactory, KafkaListenerConfigurationProperties, DefaultErrorHandler, KafkaTemplate)},
+     * whose consumers deliver the values of the records as the raw bytes received from the broker.
+     * 
+     * @see com.behl.receptacle.listener.CustomerRegisteredEventPassthroughListener
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "com.behl.receptacle.kafka.listener", name = "relay-mode", havingValue = "passthrough")
+    public ConcurrentKafkaListenerContainerFactory<String, byte[]> passthroughKafkaListenerContainerFactory(final KafkaProperties kafkaProperties,
+            final KafkaListenerConfigurationProperties kafkaListenerConfigurationProperties, final DefaultErrorHandler batchErrorHandler,
+            final ObjectProvider<MeterRegistry> meterRegistry) {
+        final var kafkaConsumerProperties = kafkaProperties.buildConsumerProperties();
+        final var consumerFactory = new DefaultKafkaConsumerFactory<String, byte[]>(kafkaConsumerProperties);
+        consumerFactory.setValueDeserializer(new ByteArrayDeserializer());
+        meterRegistry.ifAvailable(registry -> consumerFactory.addListener(new MicrometerConsumerListener<>(registry)));
+        
+        final var containerFactory = new ConcurrentKafkaListenerContainerFactory<String, byte[]>();
+        containerFactory.setConsumerFactory(consumerFactory);
+        containerFactory.setBatchListener(true);
+        containerFactory.setConcurrency(kafkaListenerConfigurationProperties.getConcurrency());
+        containerFactory.getContainerProperties().setAckMode(kafkaListenerConfigurationProperties.getAckMode());
+        containerFactory.setCommonErrorHandler(batchErrorHandler);
+        return containerFactory;
+    }
+
+    /**
+     * Registers the {@link LocalSchemaRegistry} resolving the schemas of the Avro encoded messages
+     * from the .avsc files at <code>com.behl.receptacle.kafka.encoding.schema-location</code>.
+     */
+    @Bean
+    public LocalSchemaRegistry localSchemaRegistry(final KafkaEncodingConfigurationProperties kafkaEncodingConfigurationProperties) {
+        return new LocalSchemaRegistry(kafkaEncodingConfigurationProperties.getSchemaLocation());
+    }
+
+    private TransactionalBatchAfterRollbackProcessor<String, Object> createAfterRollbackProcessor(final KafkaTemplate<String, Object> kafkaTemplate,
+            final KafkaListenerConfigurationProperties kafkaListenerConfigurationProperties) {
+        final var recoverer = new DeadLetterPublishingRecoverer(kafkaTemplate,
+                (record, exception) -> new TopicPartition(customerRegisteredEventRetry, -1));
+        final var retry = kafkaListenerConfigurationProperties.getRetry();
+        final var backOff = new ExponentialBackOff(retry.getInitialBackoff().toMillis(), retry.getMultiplier());
+        backOff.setMaxInterval(retry.getMaxBackoff().toMillis());
+        final var afterRollbackProcessor = new TransactionalBatchAfterRollbackProcessor<String, Object>(recoverer, backOff, kafkaTemplate);
+        // Thrown by the listener for events which cannot be deserialized
+        afterRollbackProcessor.addNotRetryableExceptions(IOException.class);
+        return afterRollbackProcessor;
+    }
+
+    private AvroSerializer<CustomerDto> createCustomerAvroSerializer(final KafkaEncodingConfigurationProperties kafkaEncodingConfigurationProperties) {
+        return new AvroSerializer<>(LocalSchemaRegistry.parse(kafkaEncodingConfigurationProperties.getCustomerSchema()));
+    }
+
+    private <T> Map<Pattern, T> getAvroTopicDelegates(final KafkaEncodingConfigurationProperties kafkaEncodingConfigurationProperties, final T delegate) {
+        final var delegates = new LinkedHashMap<Pattern, T>();
+        kafkaEncodingConfigurationProperties.getAvroTopics().forEach(topic -> delegates.put(Pattern.compile(Pattern.quote(topic)), delegate));
+        return delegates;
+    }
+
+    private <K, V> KafkaTemplate<K, V> createKafkaTemplate(final DefaultKafkaProducerFactory<K, V> producerFactory,
+            final ObjectProvider<MeterRegistry> meterRegistry) {
+        meterRegistry.ifAvailable(registry -> producerFactory.addListener(new MicrometerProducerListener<>(registry)));
+        return new KafkaTemplate<>(producerFactory);
     }
 
 }
@@ -0,0 +1,84 @@
+package com.behl.receptacle.configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.core.io.Resource;
+import org.springframework.validation.annotation.Validated;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * <p>
+ * Maps kafka encoding configuration values defined in the active .yaml file to the instance
+ * variables defined below. The configuration properties would be used to choose the encoding of the
+ * customer messages exchanged on each topic.
+ * </p>
+ *
+ * <p>
+ * Example .yaml code snippet:
+ * <pre>
+ * {@code
+ * com:
+ *   behl:
+ *     receptacle:
+ *       kafka:
+ *         encoding:
+ *           avro-topics:
+ *             - customer-account-registered-event
+ *             - initiate-customer-risk-assessment
+ *           schema-location: classpath*:avro/*.avsc
+ *           customer-schema: classpath:avro/customer-v1.avsc
+ * }
+ * </pre>
+ * </p>
+ *
+ * @see com.behl.receptacle.configuration.KafkaConfiguration
+ */
+@Getter
+@Setter
+@Validated
+@ConfigurationProperties(prefix = "com.behl.receptacle.kafka.encoding")
+public class KafkaEncodingConfigurationProperties {
+
+    /**
+     * <p>
+     * Topics on which customers are exchanged in the Avro binary encoding, instead of JSON. The
+     * producers and consumers of a topic are to be switched together, along with its retry and
+     * dead-letter topics. The customer registered event and risk assessment topics cannot be listed
+     * if the passthrough relay mode is configured. This property corresponds to the key
+     * <code>com.behl.receptacle.kafka.encoding.avro-topics</code> in the active .yaml configuration
+     * file.
+     * </p>
+     *
+     * @see com.behl.receptacle.serialization.AvroSerializer
+     */
+    private List<String> avroTopics = new ArrayList<>();
+
+    /**
+     * <p>
+     * Location of the .avsc files of all the schema versions with which messages in flight may have
+     * been written. This property corresponds to the key
+     * <code>com.behl.receptacle.kafka.encoding.schema-location</code> in the active .yaml
+     * configuration file.
+     * </p>
+     *
+     * @see com.behl.receptacle.serialization.LocalSchemaRegistry
+     */
+    @NotBlank(message = "Kafka encoding schema location must be configured")
+    private String schemaLocation;
+
+    /**
+     * <p>
+     * The .avsc file of the current schema of customers, with which they are written and to which
+     * messages written with older schema versions are resolved when read. This property corresponds
+     * to the key <code>com.behl.receptacle.kafka.encoding.customer-schema</code> in the active .yaml
+     * configuration file.
+     * </p>
+     */
+    @NotNull(message = "Kafka encoding customer schema must be configured")
+    private Resource customerSchema;
+
+}
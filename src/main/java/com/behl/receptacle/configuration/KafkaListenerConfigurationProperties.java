@@ -0,0 +1,336 @@
+package com.behl.receptacle.configuration;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.kafka.listener.ContainerProperties.AckMode;
+import org.springframework.validation.annotation.Validated;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * <p>
+ * Maps kafka listener configuration values defined in the active .yaml file to the instance
+ * variables defined below. The configuration properties would be used to scale the consumption of
+ * the subscribed topics with their partitions and the available cores.
+ * </p>
+ *
+ * <p>
+ * Example .yaml code snippet:
+ * <pre>
+ * {@code
+ * com:
+ *   behl:
+ *     receptacle:
+ *       kafka:
+ *         listener:
+ *           concurrency: 3
+ *           processing-parallelism: 4
+ *           ack-mode: batch
+ *           relay-mode: deserialize
+ *           transaction-id-prefix: receptacle-${HOSTNAME}-
+ *           retry:
+ *             max-attempts: 4
+ *             initial-backoff: 1s
+ *             multiplier: 2
+ *             max-backoff: 30s
+ *           backpressure:
+ *             enabled: true
+ *             in-flight-high-watermark: 1000
+ *             in-flight-low-watermark: 250
+ *             buffer-high-watermark: 0.8
+ *             buffer-low-watermark: 0.5
+ *             check-interval: 100ms
+ *           deduplication:
+ *             enabled: true
+ *             key: customer-id
+ *             time-to-live: 24h
+ * }
+ * </pre>
+ * </p>
+ *
+ * @see com.behl.receptacle.configuration.KafkaConfiguration
+ */
+@Getter
+@Setter
+@Validated
+@ConfigurationProperties(prefix = "com.behl.receptacle.kafka.listener")
+public class KafkaListenerConfigurationProperties {
+
+    /**
+     * <p>
+     * Number of consumers, each polling on its own thread, created per listener. The partitions of
+     * the subscribed topics are distributed among the consumers, hence consumers in excess of the
+     * partition count stay idle. This property corresponds to the key
+     * <code>com.behl.receptacle.kafka.listener.concurrency</code> in the active .yaml configuration
+     * file.
+     * </p>
+     */
+    @NotNull(message = "Kafka listener concurrency must be specified")
+    @Positive(message = "Kafka listener concurrency must be a positive value")
+    private Integer concurrency;
+
+    /**
+     * <p>
+     * Number of threads across which each consumer processes the records of a polled batch.
+     * Records with the same key are processed on the same thread in the order of their offsets,
+     * while records without a key are spread evenly. A value of 1 processes the batch on the
+     * consumer thread itself. This property corresponds to the key
+     * <code>com.behl.receptacle.kafka.listener.processing-parallelism</code> in the active .yaml
+     * configuration file.
+     * </p>
+     */
+    @NotNull(message = "Kafka listener processing parallelism must be specified")
+    @Positive(message = "Kafka listener processing parallelism must be a positive value")
+    private Integer processingParallelism;
+
+    /**
+     * <p>
+     * Determines when the offsets of the consumed records are committed. Committing once per polled
+     * batch keeps the number of commit requests independent of the number of records. This
+     * property corresponds to the key <code>com.behl.receptacle.kafka.listener.ack-mode</code> in
+     * the active .yaml configuration file.
+     * </p>
+     */
+    @NotNull(message = "Kafka listener ack mode must be specified")
+    private AckMode ackMode;
+
+    /**
+     * <p>
+     * Determines how the customer registered events are relayed to the customer account risk
+     * assessment topic. This property corresponds to the key
+     * <code>com.behl.receptacle.kafka.listener.relay-mode</code> in the active .yaml configuration
+     * file.
+     * </p>
+     */
+    @NotNull(message = "Kafka listener relay mode must be specified")
+    private RelayMode relayMode;
+
+    /**
+     * <p>
+     * Prefix of the transactional IDs of the producer sending the risk assessment commands. When
+     * configured, the commands sent for a polled batch and the offsets of the batch are committed
+     * in a single Kafka transaction, hence a crash between the two neither loses nor duplicates
+     * commands for consumers reading committed records. When not configured, commands are sent
+     * at least once. The prefix is to be unique per application instance. This property
+     * corresponds to the key <code>com.behl.receptacle.kafka.listener.transaction-id-prefix</code>
+     * in the active .yaml configuration file.
+     * </p>
+     */
+    private String transactionIdPrefix;
+
+    @Valid
+    private Retry retry = new Retry();
+
+    @Valid
+    private Backpressure backpressure = new Backpressure();
+
+    @Valid
+    private Deduplication deduplication = new Deduplication();
+
+        public enum RelayMode {
+
+        /**
+         * Each event is deserialized into a {@link com.behl.receptacle.dto.CustomerDto} and
+         * serialized again as the risk assessment command.
+         */
+        DESERIALIZE,
+
+        /**
+         * The bytes and headers of each event are forwarded as the risk assessment command as is,
+         * only the ID of the customer being extracted to key the command. Requires both the topics
+         * to be encoded as JSON.
+         */
+        PASSTHROUGH
+
+    }
+
+    @Getter
+    @Setter
+    public class Retry {
+
+        /**
+         * <p>
+         * Number of attempts made to process a record which failed on the main topic, each one
+         * consumed from its own retry topic, post which the record is sent to the dead-letter
+         * topic. This property corresponds to the key
+         * <code>com.behl.receptacle.kafka.listener.retry.max-attempts</code> in the active .yaml
+         * configuration file.
+         * </p>
+         * 
+         * @see com.behl.receptacle.listener.CustomerRegisteredEventRetryListener
+         */
+        @NotNull(message = "Kafka listener retry max attempts must be specified")
+        @Positive(message = "Kafka listener retry max attempts must be a positive value")
+        private Integer maxAttempts;
+
+        /**
+         * <p>
+         * Delay before the second attempt to process a failed record. This property corresponds
+         * to the key <code>com.behl.receptacle.kafka.listener.retry.initial-backoff</code> in the
+         * active .yaml configuration file.
+         * </p>
+         */
+        @NotNull(message = "Kafka listener retry initial backoff must be specified")
+        private Duration initialBackoff;
+
+        /**
+         * <p>
+         * Factor by which the delay grows with every subsequent attempt. This property corresponds
+         * to the key <code>com.behl.receptacle.kafka.listener.retry.multiplier</code> in the
+         * active .yaml configuration file.
+         * </p>
+         */
+        @NotNull(message = "Kafka listener retry multiplier must be specified")
+        @Positive(message = "Kafka listener retry multiplier must be a positive value")
+        private Double multiplier;
+
+        /**
+         * <p>
+         * Upper bound of the delay between two attempts. This property corresponds to the key
+         * <code>com.behl.receptacle.kafka.listener.retry.max-backoff</code> in the active .yaml
+         * configuration file.
+         * </p>
+         */
+        @NotNull(message = "Kafka listener retry max backoff must be specified")
+        private Duration maxBackoff;
+
+    }
+
+    @Getter
+    @Setter
+    public class Backpressure {
+
+        /**
+         * <p>
+         * Indicates whether the consumption of customer registered events is to be paused while
+         * the risk assessment commands cannot be sent fast enough. This property corresponds to the
+         * key <code>com.behl.receptacle.kafka.listener.backpressure.enabled</code> in the active
+         * .yaml configuration file.
+         * </p>
+         * 
+         * @see com.behl.receptacle.listener.CustomerRegisteredEventBackpressureController
+         */
+        private boolean enabled;
+
+        /**
+         * <p>
+         * Number of commands sent but not yet acknowledged, across all the consumers, at or above
+         * which consumption is paused. This property corresponds to the key
+         * <code>com.behl.receptacle.kafka.listener.backpressure.in-flight-high-watermark</code> in
+         * the active .yaml configuration file.
+         * </p>
+         */
+        @NotNull(message = "Kafka listener backpressure in-flight high watermark must be specified")
+        @Positive(message = "Kafka listener backpressure in-flight high watermark must be a positive value")
+        private Integer inFlightHighWatermark;
+
+        /**
+         * <p>
+         * Number of unacknowledged commands at or below which paused consumption is resumed. This
+         * property corresponds to the key
+         * <code>com.behl.receptacle.kafka.listener.backpressure.in-flight-low-watermark</code> in
+         * the active .yaml configuration file.
+         * </p>
+         */
+        @NotNull(message = "Kafka listener backpressure in-flight low watermark must be specified")
+        @PositiveOrZero(message = "Kafka listener backpressure in-flight low watermark must not be a negative value")
+        private Integer inFlightLowWatermark;
+
+        /**
+         * <p>
+         * Fraction of the memory buffer of the producer in use at or above which consumption is
+         * paused. This property corresponds to the key
+         * <code>com.behl.receptacle.kafka.listener.backpressure.buffer-high-watermark</code> in the
+         * active .yaml configuration file.
+         * </p>
+         */
+        @NotNull(message = "Kafka listener backpressure buffer high watermark must be specified")
+        @Positive(message = "Kafka listener backpressure buffer high watermark must be a positive value")
+        private Double bufferHighWatermark;
+
+        /**
+         * <p>
+         * Fraction of the memory buffer of the producer in use at or below which paused
+         * consumption is resumed. This property corresponds to the key
+         * <code>com.behl.receptacle.kafka.listener.backpressure.buffer-low-watermark</code> in the
+         * active .yaml configuration file.
+         * </p>
+         */
+        @NotNull(message = "Kafka listener backpressure buffer low watermark must be specified")
+        @PositiveOrZero(message = "Kafka listener backpressure buffer low watermark must not be a negative value")
+        private Double bufferLowWatermark;
+
+        /**
+         * <p>
+         * Interval at which the share of the producer buffer in use is sampled and checked against
+         * its watermarks, the commands in flight being checked as they are sent. This property
+         * corresponds to the key
+         * <code>com.behl.receptacle.kafka.listener.backpressure.check-interval</code> in the active
+         * .yaml configuration file.
+         * </p>
+         */
+        @NotNull(message = "Kafka listener backpressure check interval must be specified")
+        private Duration checkInterval;
+
+    }
+
+    @Getter
+    @Setter
+    public class Deduplication {
+
+        /**
+         * <p>
+         * Indicates whether customer registered events already processed by any consumer are to be
+         * skipped, preventing duplicate risk assessment commands on redelivery. This property
+         * corresponds to the key <code>com.behl.receptacle.kafka.listener.deduplication.enabled</code>
+         * in the active .yaml configuration file.
+         * </p>
+         * 
+         * @see com.behl.receptacle.service.DeduplicationService
+         */
+        private boolean enabled;
+
+        /**
+         * <p>
+         * Identifies the events considered duplicates of each other. This property corresponds to
+         * the key <code>com.behl.receptacle.kafka.listener.deduplication.key</code> in the active
+         * .yaml configuration file.
+         * </p>
+         */
+        @NotNull(message = "Kafka listener deduplication key must be specified")
+        private DeduplicationKey key;
+
+        /**
+         * <p>
+         * Duration for which a processed event is remembered, which is to exceed the period within
+         * which it can be redelivered. This property corresponds to the key
+         * <code>com.behl.receptacle.kafka.listener.deduplication.time-to-live</code> in the active
+         * .yaml configuration file.
+         * </p>
+         */
+        @NotNull(message = "Kafka listener deduplication time to live must be specified")
+        private Duration timeToLive;
+
+    }
+
+    public enum DeduplicationKey {
+
+        /**
+         * Events carrying the same customer ID are duplicates, regardless of where they were
+         * published.
+         */
+        CUSTOMER_ID,
+
+        /**
+         * Only redeliveries of the same record, identified by its topic, partition and offset, are
+         * duplicates.
+         */
+        MESSAGE_ID
+
+    }
+
+}
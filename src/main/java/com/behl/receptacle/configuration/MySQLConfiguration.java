@@ -1,22 +1,121 @@
 package com.behl.receptacle.configuration;
 
+import java.util.ArrayList;
 import javax.sql.DataSource;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import com.zaxxer.hikari.util.UtilityElf;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
 
 @Configuration
+@RequiredArgsConstructor
+@EnableConfigurationProperties(PersistenceConfigurationProperties.class)
 public class MySQLConfiguration {
 
+    private final PersistenceConfigurationProperties persistenceConfigurationProperties;
+
+    /**
+     * <p>
+     * Registers a pooled {@link javax.sql.DataSource} for the primary MySQL server in the Spring IOC
+     * container, reusing physical connections across transactions. The connection details are
+     * taken from <code>spring.datasource.*</code> and the pool sizing, leak detection and driver
+     * properties such as prepared statement caching and batch rewriting from
+     * <code>spring.datasource.hikari.*</code> in the active .yaml configuration file.
+     * </p>
+     *
+     * <p>
+     * The pool is started lazily on the first connection request. Pool wait time, active
+     * connection count and usage are published as <code>hikaricp.connections.*</code> metrics.
+     * </p>
+     *
+     * @see https://github.com/brettwooldridge/HikariCP/wiki/MySQL-Configuration
+     */
+    @Bean
+    @ConfigurationProperties(prefix = "spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(final DataSourceProperties dataSourceProperties) {
+        return dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    /**
+     * <p>
+     * Registers the {@link javax.sql.DataSource} to be used by the application. If read replicas
+     * are configured, connections of read-only transactions are routed to a pool per replica and
+     * all other connections to the primary datasource, else the primary datasource is used as is.
+     * </p>
+     *
+     * <p>
+     * The replica pools share the pool settings of the primary datasource, except that they are
+     * started without waiting for a connection to their replica, so that an unreachable replica
+     * does not abort application startup and is routed around until it can hand out connections.
+     * </p>
+     *
+     * @see ReadReplicaRoutingDataSource
+     * @see PersistenceConfigurationProperties.ReadReplicas
+     */
     @Bean
-    public DataSource dataSource(final DataSourceProperties dataSourceProperties) {
-        final var dataSource = new DriverManagerDataSource();
-        dataSource.setUrl(dataSourceProperties.getUrl());
-        dataSource.setUsername(dataSourceProperties.getUsername());
-        dataSource.setPassword(dataSourceProperties.getPassword());
-        dataSource.setDriverClassName(dataSourceProperties.getDriverClassName());
-        return dataSource;
+    @Primary
+    public DataSource dataSource(final HikariDataSource primaryDataSource, final ObjectProvider<MeterRegistry> meterRegistry) {
+        final var readReplicas = persistenceConfigurationProperties.getReadReplicas();
+        if (readReplicas.getInstances().isEmpty()) {
+            return primaryDataSource;
+        }
+
+        final var replicaDataSources = new ArrayList<HikariDataSource>();
+        for (final var instance : readReplicas.getInstances()) {
+            final var replicaConfiguration = new HikariConfig();
+            primaryDataSource.copyStateTo(replicaConfiguration);
+            replicaConfiguration.setPoolName(primaryDataSource.getPoolName() + "-replica-" + replicaDataSources.size());
+            replicaConfiguration.setJdbcUrl(instance.getUrl());
+            replicaConfiguration.setUsername(instance.getUsername());
+            replicaConfiguration.setPassword(instance.getPassword());
+            replicaConfiguration.setReadOnly(true);
+            replicaConfiguration.setInitializationFailTimeout(-1);
+            meterRegistry.ifAvailable(registry -> replicaConfiguration.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)));
+            replicaDataSources.add(new HikariDataSource(replicaConfiguration));
+        }
+
+        final var routingDataSource = new ReadReplicaRoutingDataSource(primaryDataSource, replicaDataSources,
+                readReplicas.getMaxReplicationLag(), readReplicas.getReplicationLagCheckInterval());
+        return new RoutingLazyConnectionDataSourceProxy(routingDataSource, primaryDataSource);
+    }
+
+    /**
+     * Defers obtaining a physical connection until the first statement is executed, by which time
+     * the read-only flag of the current transaction is known to the routing datasource. The
+     * auto-commit and transaction isolation reported before then are those configured on the
+     * primary pool, the isolation being determined from the first connection if not configured.
+     * Releases the replica pools on context shutdown.
+     */
+    private static final class RoutingLazyConnectionDataSourceProxy extends LazyConnectionDataSourceProxy implements DisposableBean {
+
+        private final ReadReplicaRoutingDataSource routingDataSource;
+
+        private RoutingLazyConnectionDataSourceProxy(final ReadReplicaRoutingDataSource routingDataSource, final HikariDataSource primaryDataSource) {
+            this.routingDataSource = routingDataSource;
+            setTargetDataSource(routingDataSource);
+            setDefaultAutoCommit(primaryDataSource.isAutoCommit());
+            final var transactionIsolation = primaryDataSource.getTransactionIsolation();
+            if (transactionIsolation != null) {
+                setDefaultTransactionIsolation(UtilityElf.getTransactionIsolation(transactionIsolation));
+            }
+        }
+
+        @Override
+        public void destroy() {
+            routingDataSource.destroy();
+        }
+
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,94 @@
+package com.behl.receptacle.configuration;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * <p>
+ * Maps outbox configuration values defined in the active .yaml file to the instance variables
+ * defined below. The configuration properties would be used to tune the relay publishing the
+ * events recorded in the outbox table to Kafka.
+ * </p>
+ *
+ * <p>
+ * Example .yaml code snippet:
+ * <pre>
+ * {@code
+ * com:
+ *   behl:
+ *     receptacle:
+ *       outbox:
+ *         relay:
+ *           enabled: true
+ *           batch-size: 500
+ *           poll-interval: 1s
+ *           send-timeout: 10s
+ * }
+ * </pre>
+ * </p>
+ *
+ * @see com.behl.receptacle.service.OutboxRelayService
+ */
+@Getter
+@Setter
+@Validated
+@ConfigurationProperties(prefix = "com.behl.receptacle.outbox")
+public class OutboxConfigurationProperties {
+
+    @Valid
+    private Relay relay = new Relay();
+
+    @Getter
+    @Setter
+    public class Relay {
+
+        /**
+         * <p>
+         * Indicates whether the outbox events are to be relayed to Kafka by the current instance.
+         * This property corresponds to the key <code>com.behl.receptacle.outbox.relay.enabled</code>
+         * in the active .yaml configuration file.
+         * </p>
+         */
+        private boolean enabled;
+
+        /**
+         * <p>
+         * Maximum number of outbox events published and marked as published per transaction. This
+         * property corresponds to the key <code>com.behl.receptacle.outbox.relay.batch-size</code>
+         * in the active .yaml configuration file.
+         * </p>
+         */
+        @NotNull(message = "Outbox relay batch size must be specified")
+        @Positive(message = "Outbox relay batch size must be a positive value")
+        private Integer batchSize;
+
+        /**
+         * <p>
+         * Delay between the completion of an outbox drain and the start of the next one. This
+         * property corresponds to the key <code>com.behl.receptacle.outbox.relay.poll-interval</code>
+         * in the active .yaml configuration file.
+         * </p>
+         */
+        @NotNull(message = "Outbox relay poll interval must be specified")
+        private Duration pollInterval;
+
+        /**
+         * <p>
+         * Maximum duration to wait for Kafka to acknowledge a batch of outbox events, post which
+         * the batch is rolled back and retried on the next poll. This property corresponds to the
+         * key <code>com.behl.receptacle.outbox.relay.send-timeout</code> in the active .yaml
+         * configuration file.
+         * </p>
+         */
+        @NotNull(message = "Outbox relay send timeout must be specified")
+        private Duration sendTimeout;
+
+    }
+
+}
@@ -0,0 +1,209 @@
+package com.behl.receptacle.configuration;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * <p>
+ * Maps persistence configuration values defined in the active .yaml file to the instance variables
+ * defined below. The configuration properties would be used to tune the operations performed
+ * against the provisioned datasource.
+ * </p>
+ * 
+ * <p>
+ * Example .yaml code snippet:
+ * <pre>
+ * {@code
+ * com:
+ *   behl:
+ *     receptacle:
+ *       persistence:
+ *         country-registry:
+ *           preload: true
+ *         bulk-import:
+ *           batch-size: 1000
+ *         bulk-delete:
+ *           chunk-size: 1000
+ *         export:
+ *           page-size: 1000
+ *         read-replicas:
+ *           max-replication-lag: 10s
+ *           replication-lag-check-interval: 5s
+ *           instances:
+ *             - url: jdbc:mysql://replica-host:3306/database
+ *               username: replica-username
+ *               password: replica-password
+ * }
+ * </pre>
+ * </p>
+ * 
+ * @see com.behl.receptacle.service.PersistenceService
+ */
+@Getter
+@Setter
+@Validated
+@ConfigurationProperties(prefix = "com.behl.receptacle.persistence")
+public class PersistenceConfigurationProperties {
+
+    @Valid
+    private CountryRegistry countryRegistry = new CountryRegistry();
+    
+    @Valid
+    private BulkImport bulkImport = new BulkImport();
+    
+    @Valid
+    private BulkDelete bulkDelete = new BulkDelete();
+    
+    @Valid
+    private Export export = new Export();
+    
+    @Valid
+    private ReadReplicas readReplicas = new ReadReplicas();
+
+    @Getter
+    @Setter
+    public class CountryRegistry {
+
+        /**
+         * <p>
+         * Indicates whether the country records are to be loaded into memory on application
+         * startup. When disabled, the records are loaded on first access. This property
+         * corresponds to the key <code>com.behl.receptacle.persistence.country-registry.preload</code>
+         * in the active .yaml configuration file.
+         * </p>
+         * 
+         * @see com.behl.receptacle.service.CountryRegistry
+         */
+        private boolean preload;
+
+    }
+
+    @Getter
+    @Setter
+    public class BulkImport {
+
+        /**
+         * <p>
+         * Number of user records inserted per JDBC batch during a bulk import. Each batch is
+         * committed in its own transaction, post which the persistence context is cleared to hold
+         * memory usage constant irrespective of the size of the import. This property corresponds
+         * to the key <code>com.behl.receptacle.persistence.bulk-import.batch-size</code> in the
+         * active .yaml configuration file.
+         * </p>
+         * 
+         * @see com.behl.receptacle.service.PersistenceService#importUsers(java.io.InputStream)
+         */
+        @NotNull(message = "Bulk import batch size must be specified")
+        @Positive(message = "Bulk import batch size must be a positive value")
+        private Integer batchSize;
+
+    }
+
+    @Getter
+    @Setter
+    public class BulkDelete {
+
+        /**
+         * <p>
+         * Maximum number of user IDs bound to a single <code>DELETE ... WHERE id IN (...)</code>
+         * statement during a bulk deletion. Each chunk is deleted in its own transaction, keeping
+         * the statement size and the duration for which row locks are held bounded. This property
+         * corresponds to the key <code>com.behl.receptacle.persistence.bulk-delete.chunk-size</code>
+         * in the active .yaml configuration file.
+         * </p>
+         * 
+         * @see com.behl.receptacle.service.PersistenceService#deleteUsers(java.util.Collection)
+         */
+        @NotNull(message = "Bulk delete chunk size must be specified")
+        @Positive(message = "Bulk delete chunk size must be a positive value")
+        private Integer chunkSize;
+
+    }
+
+    @Getter
+    @Setter
+    public class Export {
+
+        /**
+         * <p>
+         * Number of user records fetched per query during an export. Pages are fetched by seeking
+         * past the last exported ID, hence the cost of a query does not grow with the number of
+         * records exported before it. This property corresponds to the key
+         * <code>com.behl.receptacle.persistence.export.page-size</code> in the active .yaml
+         * configuration file.
+         * </p>
+         * 
+         * @see com.behl.receptacle.service.PersistenceService#exportUsers(java.util.function.Consumer)
+         */
+        @NotNull(message = "Export page size must be specified")
+        @Positive(message = "Export page size must be a positive value")
+        private Integer pageSize;
+
+    }
+
+    @Getter
+    @Setter
+    public class ReadReplicas {
+
+        /**
+         * <p>
+         * MySQL replicas to which read-only transactions are to be routed. When none are
+         * configured, all transactions are executed against the primary datasource. This property
+         * corresponds to the key <code>com.behl.receptacle.persistence.read-replicas.instances</code>
+         * in the active .yaml configuration file.
+         * </p>
+         * 
+         * @see com.behl.receptacle.configuration.ReadReplicaRoutingDataSource
+         */
+        @Valid
+        private List<ReplicaInstance> instances = new ArrayList<>();
+
+        /**
+         * <p>
+         * Maximum replication lag tolerated for a replica to be routed read-only transactions.
+         * Replicas lagging behind, or not replicating, are skipped until they catch up, with
+         * transactions falling back to the primary datasource if no replica qualifies. When not
+         * configured, replication lag is not checked. This property corresponds to the key
+         * <code>com.behl.receptacle.persistence.read-replicas.max-replication-lag</code> in the
+         * active .yaml configuration file.
+         * </p>
+         */
+        private Duration maxReplicationLag;
+
+        /**
+         * <p>
+         * Interval at which the configured replicas are checked for handing out connections and,
+         * if a maximum is configured, for their replication lag. This property corresponds to the
+         * key
+         * <code>com.behl.receptacle.persistence.read-replicas.replication-lag-check-interval</code>
+         * in the active .yaml configuration file.
+         * </p>
+         */
+        @NotNull(message = "Replication lag check interval must be specified")
+        private Duration replicationLagCheckInterval;
+
+    }
+
+    @Getter
+    @Setter
+    public static class ReplicaInstance {
+
+        @NotBlank(message = "Replica JDBC URL must be configured")
+        private String url;
+
+        private String username;
+
+        private String password;
+
+    }
+
+}
@@ -0,0 +1,153 @@
+package com.behl.receptacle.configuration;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * <p>
+ * {@link DataSource} routing connections of read-only transactions to MySQL replicas in a
+ * round-robin manner, and all other connections to the primary datasource. If a replica is
+ * unreachable, or no replica is within the tolerated replication lag, the connection is obtained
+ * from the primary datasource instead.
+ * </p>
+ *
+ * <p>
+ * The replicas are checked periodically, and only those handing out connections, and within the
+ * tolerated replication lag if configured, are routed to. A replica failing to hand out a
+ * connection between checks is excluded until its next successful check.
+ * </p>
+ *
+ * <p>
+ * The routing decision relies on the read-only flag of the current transaction, hence this
+ * datasource is to be wrapped in a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy} so that the physical
+ * connection is obtained only once the transaction has been initialized.
+ * </p>
+ *
+ * @see PersistenceConfigurationProperties.ReadReplicas
+ */
+@Slf4j
+public class ReadReplicaRoutingDataSource extends AbstractDataSource implements DisposableBean {
+
+    private static final String REPLICA_STATUS_QUERY = "SHOW REPLICA STATUS";
+    private static final String REPLICATION_LAG_COLUMN = "Seconds_Behind_Source";
+
+    private final DataSource primaryDataSource;
+    private final List<HikariDataSource> replicaDataSources;
+    private final Duration maxReplicationLag;
+    private final AtomicInteger replicaSelectionCounter = new AtomicInteger();
+    private final ScheduledExecutorService replicaChecker;
+
+    private volatile List<HikariDataSource> eligibleReplicaDataSources;
+
+    public ReadReplicaRoutingDataSource(final DataSource primaryDataSource, final List<HikariDataSource> replicaDataSources,
+            final Duration maxReplicationLag, final Duration replicaCheckInterval) {
+        this.primaryDataSource = primaryDataSource;
+        this.replicaDataSources = List.copyOf(replicaDataSources);
+        this.maxReplicationLag = maxReplicationLag;
+        this.eligibleReplicaDataSources = this.replicaDataSources;
+
+        this.replicaChecker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final var thread = new Thread(runnable, "read-replica-checker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        final var intervalMillis = replicaCheckInterval.toMillis();
+        replicaChecker.scheduleWithFixedDelay(this::checkReplicas, 0, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return routeConnection(DataSource::getConnection);
+    }
+
+    @Override
+    public Connection getConnection(final String username, final String password) throws SQLException {
+        return routeConnection(dataSource -> dataSource.getConnection(username, password));
+    }
+
+    @Override
+    public void destroy() {
+        replicaChecker.shutdownNow();
+        replicaDataSources.forEach(HikariDataSource::close);
+    }
+
+    /**
+     * Obtains the connection from a replica if the current transaction is read-only, else from the
+     * primary datasource. A replica whose pool fails to hand out a connection is excluded from
+     * routing until its next successful check, so that subsequent transactions do not wait on it.
+     */
+    private Connection routeConnection(final ConnectionRequest connectionRequest) throws SQLException {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return connectionRequest.obtainFrom(primaryDataSource);
+        }
+
+        final var replicas = eligibleReplicaDataSources;
+        if (replicas.isEmpty()) {
+            log.debug("No replica eligible for read-only transaction, falling back to primary datasource");
+            return connectionRequest.obtainFrom(primaryDataSource);
+        }
+
+        final var replica = replicas.get(Math.floorMod(replicaSelectionCounter.getAndIncrement(), replicas.size()));
+        try {
+            return connectionRequest.obtainFrom(replica);
+        } catch (final SQLException | RuntimeException exception) {
+            log.warn("Unable to obtain connection from replica {}, excluding it from routing and falling back to primary datasource",
+                    replica.getPoolName(), exception);
+            eligibleReplicaDataSources = eligibleReplicaDataSources.stream().filter(eligibleReplica -> eligibleReplica != replica).toList();
+            return connectionRequest.obtainFrom(primaryDataSource);
+        }
+    }
+
+    private void checkReplicas() {
+        eligibleReplicaDataSources = replicaDataSources.stream().filter(this::isEligible).toList();
+    }
+
+    private boolean isEligible(final HikariDataSource replica) {
+        try (final var connection = replica.getConnection()) {
+            return maxReplicationLag == null || isWithinReplicationLag(replica, connection);
+        } catch (final SQLException | RuntimeException exception) {
+            log.warn("Unable to check replica {}, excluding it from routing", replica.getPoolName(), exception);
+            return false;
+        }
+    }
+
+    private boolean isWithinReplicationLag(final HikariDataSource replica, final Connection connection) throws SQLException {
+        try (final var statement = connection.createStatement();
+                final var resultSet = statement.executeQuery(REPLICA_STATUS_QUERY)) {
+            if (!resultSet.next()) {
+                return true;
+            }
+            final var lagSeconds = resultSet.getLong(REPLICATION_LAG_COLUMN);
+            if (resultSet.wasNull()) {
+                log.warn("Replica {} is not replicating, excluding it from routing", replica.getPoolName());
+                return false;
+            }
+            if (lagSeconds > maxReplicationLag.toSeconds()) {
+                log.warn("Replica {} is lagging {} seconds behind primary, excluding it from routing", replica.getPoolName(), lagSeconds);
+                return false;
+            }
+            return true;
+        }
+    }
+
+    @FunctionalInterface
+    private interface ConnectionRequest {
+
+        Connection obtainFrom(DataSource dataSource) throws SQLException;
+
+    }
+
+}
@@ -1,19 +1,80 @@
 package com.behl.receptacle.configuration;
 
-import java.time.Duration;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
 
 @Configuration
+@EnableConfigurationProperties(EmailClientConfigurationProperties.class)
 public class RestTemplateConfiguration {
-  
+
+    private static final String EMAIL_CLIENT_POOL_NAME = "email-client";
+
+    /**
+     * Pools the connections to the Email Server so that they, along with their TLS sessions, are
+     * reused across notifications instead of being established for each one. The state of the pool
+     * is published under the metrics <code>httpcomponents.httpclient.pool.*</code> tagged with
+     * <code>httpclient=email-client</code>.
+     *
+     * @see com.behl.receptacle.configuration.EmailClientConfigurationProperties.Pool
+     */
+    @Bean
+    public PoolingHttpClientConnectionManager emailHttpClientConnectionManager(final EmailClientConfigurationProperties emailClientConfigurationProperties,
+            final ObjectProvider<MeterRegistry> meterRegistry) {
+        final var pool = emailClientConfigurationProperties.getPool();
+        final var connectionConfig = ConnectionConfig.custom()
+            .setConnectTimeout(Timeout.of(emailClientConfigurationProperties.getConnectTimeout()))
+            .setSocketTimeout(Timeout.of(emailClientConfigurationProperties.getReadTimeout()))
+            .setTimeToLive(TimeValue.of(pool.getTimeToLive()))
+            .build();
+        final var connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+            .setMaxConnTotal(pool.getMaxConnections())
+            .setMaxConnPerRoute(pool.getMaxConnectionsPerRoute())
+            .setDefaultConnectionConfig(connectionConfig)
+            .build();
+        meterRegistry.ifAvailable(new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, EMAIL_CLIENT_POOL_NAME)::bindTo);
+        return connectionManager;
+    }
+
+    /**
+     * Keeps the pooled connections alive for the duration advertised by the Email Server, falling
+     * back to the configured one, and evicts expired and idle connections in the background so that
+     * stale ones are not leased.
+     */
+    @Bean
+    public CloseableHttpClient emailHttpClient(final PoolingHttpClientConnectionManager emailHttpClientConnectionManager,
+            final EmailClientConfigurationProperties emailClientConfigurationProperties) {
+        final var pool = emailClientConfigurationProperties.getPool();
+        final var requestConfig = RequestConfig.custom()
+            .setConnectionRequestTimeout(Timeout.of(pool.getConnectionRequestTimeout()))
+            .setConnectionKeepAlive(TimeValue.of(pool.getKeepAlive()))
+            .build();
+        return HttpClients.custom()
+            .setConnectionManager(emailHttpClientConnectionManager)
+            .setDefaultRequestConfig(requestConfig)
+            .evictExpiredConnections()
+            .evictIdleConnections(TimeValue.of(pool.getMaxIdleTime()))
+            .build();
+    }
+
     @Bean
-    public RestTemplate restTemplate(final RestTemplateBuilder restTemplateBuilder) {
+    public RestTemplate restTemplate(final RestTemplateBuilder restTemplateBuilder, final CloseableHttpClient emailHttpClient) {
         return restTemplateBuilder
-            .setConnectTimeout(Duration.ofSeconds(10))
-            .setReadTimeout(Duration.ofSeconds(10))
+            .requestFactory(() -> new HttpComponentsClientHttpRequestFactory(emailHttpClient))
             .build();
     }
 
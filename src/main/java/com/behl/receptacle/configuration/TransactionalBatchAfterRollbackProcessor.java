@@ -0,0 +1,131 @@
+package com.behl.receptacle.configuration;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.kafka.core.KafkaOperations;
+import org.springframework.kafka.listener.BatchInterceptor;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.kafka.listener.ConsumerRecordRecoverer;
+import org.springframework.kafka.listener.ContainerProperties.EOSMode;
+import org.springframework.kafka.listener.DefaultAfterRollbackProcessor;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.kafka.listener.SeekUtils;
+import org.springframework.util.backoff.BackOff;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * <p>
+ * {@link DefaultAfterRollbackProcessor} recovering the record a transactional batch listener failed
+ * at, as identified by the {@link BatchListenerFailedException} thrown, whereas the default
+ * implementation redelivers the whole batch of a batch listener without ever recovering it.
+ * </p>
+ *
+ * <p>
+ * The records preceding the failed one in its partition are to be committed before it is skipped,
+ * while their commands were discarded along with the transaction. The batch is hence redelivered
+ * up to the failed record first, the records of its partition from the failed one onwards being
+ * withheld from the next batch. Once the failed record is the first of its partition, it is
+ * recovered within a new transaction, in which its offset is committed along with the records
+ * published by the recoverer, unless its failure is retryable and the back off is not exhausted,
+ * in which case the batch is redelivered after the back off.
+ * </p>
+ *
+ * <p>
+ * As the withheld records are dropped from the batch before it is delivered, this processor is to
+ * be registered as the {@link BatchInterceptor} of the container as well.
+ * </p>
+ *
+ * @see KafkaConfiguration#batchKafkaListenerContainerFactory(org.springframework.kafka.core.ConsumerFactory,
+ *      KafkaListenerConfigurationProperties, org.springframework.kafka.listener.DefaultErrorHandler,
+ *      org.springframework.kafka.core.KafkaTemplate)
+ */
+@Slf4j
+public class TransactionalBatchAfterRollbackProcessor<K, V> extends DefaultAfterRollbackProcessor<K, V> implements BatchInterceptor<K, V> {
+
+    private final Map<TopicPartition, Long> withheldOffsets = new ConcurrentHashMap<>();
+
+    public TransactionalBatchAfterRollbackProcessor(final ConsumerRecordRecoverer recoverer, final BackOff backOff,
+            final KafkaOperations<?, ?> kafkaOperations) {
+        super(recoverer, backOff, kafkaOperations, true);
+    }
+
+    @Override
+    public void process(final List<ConsumerRecord<K, V>> records, final Consumer<K, V> consumer, final MessageListenerContainer container,
+            final Exception exception, final boolean recoverable, final EOSMode eosMode) {
+        final var failedRecord = findFailedRecord(records, exception);
+        if (failedRecord == null) {
+            super.process(records, consumer, container, exception, recoverable, eosMode);
+            return;
+        }
+
+        final var partition = new TopicPartition(failedRecord.topic(), failedRecord.partition());
+        final var precededInPartition = records.stream()
+                .anyMatch(record -> partition.equals(new TopicPartition(record.topic(), record.partition())) && record.offset() < failedRecord.offset());
+        if (precededInPartition) {
+            log.info("Redelivering batch up to the failed record at offset {} of {}", failedRecord.offset(), partition);
+            withheldOffsets.put(partition, failedRecord.offset());
+            SeekUtils.doSeeks(new ArrayList<ConsumerRecord<?, ?>>(records), consumer, exception, false, (record, cause) -> false, logger);
+            return;
+        }
+
+        // The failed record is the first of its partition, and is moved ahead for it to be recovered
+        final var reorderedRecords = new ArrayList<ConsumerRecord<K, V>>(records.size());
+        reorderedRecords.add(failedRecord);
+        records.stream().filter(record -> record != failedRecord).forEach(reorderedRecords::add);
+        super.process(reorderedRecords, consumer, container, exception, true, eosMode);
+    }
+
+    /**
+     * Drops the records withheld after a rollback from the polled batch, seeking their partitions
+     * back to the first withheld record for it to be polled again once the preceding records are
+     * committed.
+     */
+    @Override
+    public ConsumerRecords<K, V> intercept(final ConsumerRecords<K, V> records, final Consumer<K, V> consumer) {
+        if (withheldOffsets.isEmpty()) {
+            return records;
+        }
+        final var deliveredRecords = new LinkedHashMap<TopicPartition, List<ConsumerRecord<K, V>>>();
+        for (final var partition : records.partitions()) {
+            final var partitionRecords = records.records(partition);
+            final var withheldOffset = withheldOffsets.remove(partition);
+            if (withheldOffset == null) {
+                deliveredRecords.put(partition, partitionRecords);
+                continue;
+            }
+            consumer.seek(partition, withheldOffset);
+            final var precedingRecords = partitionRecords.stream().filter(record -> record.offset() < withheldOffset).toList();
+            if (!precedingRecords.isEmpty()) {
+                deliveredRecords.put(partition, precedingRecords);
+            }
+        }
+        return new ConsumerRecords<>(deliveredRecords);
+    }
+
+    private ConsumerRecord<K, V> findFailedRecord(final List<ConsumerRecord<K, V>> records, final Exception exception) {
+        Throwable cause = exception;
+        while (cause != null && !(cause instanceof BatchListenerFailedException)) {
+            cause = cause.getCause();
+        }
+        if (!(cause instanceof BatchListenerFailedException failure)) {
+            return null;
+        }
+        if (failure.getRecord() != null) {
+            final var failedRecord = failure.getRecord();
+            return records.stream()
+                    .filter(record -> record.topic().equals(failedRecord.topic()) && record.partition() == failedRecord.partition()
+                            && record.offset() == failedRecord.offset())
+                    .findFirst().orElse(null);
+        }
+        final var index = failure.getIndex();
+        return index >= 0 && index < records.size() ? records.get(index) : null;
+    }
+
+}
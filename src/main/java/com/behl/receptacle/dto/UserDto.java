@@ -0,0 +1,6 @@
+package com.behl.receptacle.dto;
+
+import java.util.UUID;
+
+public record UserDto(UUID id, String firstName, String lastName, Integer countryId, String countryName) {
+}
@@ -1,5 +1,8 @@
 package com.behl.receptacle.entity;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.Immutable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
@@ -7,11 +10,11 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
 import lombok.Getter;
-import lombok.Setter;
 
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_ONLY, region = "countries")
 @Getter
-@Setter
+@Immutable
 @Table(name = "countries")
 public class Country {
 
@@ -0,0 +1,66 @@
+package com.behl.receptacle.entity;
+
+import java.security.SecureRandom;
+import java.util.UUID;
+
+/**
+ * <p>
+ * Generates time-ordered version 7 UUIDs as specified in RFC 9562, to be used as primary keys of
+ * entities stored in a clustered index. The leading 48 bits hold the Unix epoch timestamp in
+ * milliseconds, followed by the version, a 12 bit counter, the variant and 62 random bits.
+ * </p>
+ *
+ * <p>
+ * Unlike randomly generated version 4 UUIDs, consecutive IDs are appended to the right-most leaf
+ * page of the primary key B-tree rather than being scattered across it, avoiding page splits and
+ * keeping the working set of the index small as the table grows. The counter, seeded randomly
+ * every millisecond, keeps IDs generated within the same millisecond in the JVM monotonically
+ * increasing. If the counter is exhausted or the system clock moves backwards, the timestamp of the
+ * previously generated ID is advanced instead.
+ * </p>
+ *
+ * @see https://www.rfc-editor.org/rfc/rfc9562#name-uuid-version-7
+ */
+public final class TimeOrderedUuidGenerator {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final int COUNTER_BITS = 12;
+    private static final int MAX_COUNTER = (1 << COUNTER_BITS) - 1;
+    private static final int COUNTER_SEED_BOUND = 1 << (COUNTER_BITS - 1);
+    private static final long VERSION = 0x7000L;
+    private static final long VARIANT = 0x8000000000000000L;
+    private static final long RANDOM_BITS_MASK = 0x3FFFFFFFFFFFFFFFL;
+
+    private static long lastTimestamp;
+    private static int counter;
+
+    private TimeOrderedUuidGenerator() {
+    }
+
+    /**
+     * Generates a version 7 UUID ordered after every UUID previously generated by this class.
+     *
+     * @return The generated {@link UUID}.
+     */
+    public static UUID generate() {
+        final long timestamp;
+        final int sequence;
+        synchronized (TimeOrderedUuidGenerator.class) {
+            final var currentTimestamp = System.currentTimeMillis();
+            if (currentTimestamp > lastTimestamp) {
+                lastTimestamp = currentTimestamp;
+                counter = RANDOM.nextInt(COUNTER_SEED_BOUND);
+            } else if (++counter > MAX_COUNTER) {
+                lastTimestamp++;
+                counter = RANDOM.nextInt(COUNTER_SEED_BOUND);
+            }
+            timestamp = lastTimestamp;
+            sequence = counter;
+        }
+
+        final var mostSignificantBits = (timestamp << 16) | VERSION | sequence;
+        final var leastSignificantBits = VARIANT | (RANDOM.nextLong() & RANDOM_BITS_MASK);
+        return new UUID(mostSignificantBits, leastSignificantBits);
+    }
+
+}
@@ -1,11 +1,13 @@
 package com.behl.receptacle.entity;
 
 import java.util.UUID;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.Fetch;
+import org.hibernate.annotations.FetchMode;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
@@ -16,6 +18,7 @@ import lombok.Getter;
 import lombok.Setter;
 
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users")
 @Getter
 @Setter
 @Table(name = "users")
@@ -23,7 +26,6 @@ public class User {
 
     @Id
     @Setter(AccessLevel.NONE)
-    @GeneratedValue(strategy = GenerationType.AUTO)
     @Column(name = "id", nullable = false, unique = true, updatable = false, columnDefinition = "BINARY(16)")
     private UUID id;
 
@@ -33,13 +35,18 @@ public class User {
     @Column(name = "last_name", nullable = false)
     private String lastName;
 
+    /**
+     * Loaded eagerly through a separate select by ID rather than a join, which is served from the
+     * read-only <code>countries</code> region of the second-level cache instead of the datasource.
+     */
     @ManyToOne(fetch = FetchType.EAGER, optional = false)
+    @Fetch(FetchMode.SELECT)
     @JoinColumn(name = "country_id", nullable = false)
     private Country country;
 
     @PrePersist
     void onCreate() {
-        this.id = UUID.randomUUID();
+        this.id = TimeOrderedUuidGenerator.generate();
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,190 @@
+package com.behl.receptacle.listener;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.kafka.KafkaException;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Component;
+import com.behl.receptacle.configuration.KafkaListenerConfigurationProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Pauses the consumption of customer registered events while the risk assessment commands cannot
+ * be sent as fast as they are produced, instead of letting sends pile up until the producer blocks
+ * the consumer threads for <code>max.block.ms</code>. Every command is sent through this
+ * controller, which pauses consumption once the number of unacknowledged commands or the share of
+ * the producer buffer in use reaches its high watermark, and resumes it once both have drained to
+ * their low watermarks. While paused, the listener threads wait before sending their next command,
+ * hence the number of commands in flight is bounded by the high watermark within the batch being
+ * processed rather than from the next poll onwards. The wait lasts until enough commands in flight
+ * complete, which they do within <code>delivery.timeout.ms</code>, below the
+ * <code>max.poll.interval.ms</code> of the consumers by default.
+ *
+ * The number of unacknowledged commands is updated as sends are made and complete, while the share
+ * of the producer buffer in use is sampled from the metrics of the producer at the configured
+ * interval.
+ *
+ * The number of unacknowledged commands and whether consumption is paused are published as the
+ * metrics <code>customer.registered.event.sends.in.flight</code> and
+ * <code>customer.registered.event.consumption.paused</code>, while the number of times consumption
+ * was paused and resumed are published as <code>customer.registered.event.consumption.pauses</code>
+ * and <code>customer.registered.event.consumption.resumes</code>.
+ *
+ * The controller is active only if enabled through the configuration property
+ * <code>com.behl.receptacle.kafka.listener.backpressure.enabled</code>.
+ *
+ * @see KafkaListenerConfigurationProperties.Backpressure
+ */
+@Slf4j
+@Component
+@EnableScheduling
+@EnableConfigurationProperties(KafkaListenerConfigurationProperties.class)
+@ConditionalOnProperty(prefix = "com.behl.receptacle.kafka.listener.backpressure", name = "enabled", havingValue = "true")
+public class CustomerRegisteredEventBackpressureController implements SchedulingConfigurer {
+
+    private static final String PRODUCER_METRICS_GROUP = "producer-metrics";
+
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final KafkaListenerConfigurationProperties.Backpressure backpressure;
+    private final AtomicInteger inFlightSends = new AtomicInteger();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition resumed = lock.newCondition();
+    private final Counter pauseCounter;
+    private final Counter resumeCounter;
+
+    private volatile double bufferUsage;
+    private volatile boolean paused;
+
+    public CustomerRegisteredEventBackpressureController(final KafkaTemplate<String, Object> kafkaTemplate,
+            final KafkaListenerConfigurationProperties kafkaListenerConfigurationProperties, final MeterRegistry meterRegistry) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.backpressure = kafkaListenerConfigurationProperties.getBackpressure();
+        this.pauseCounter = meterRegistry.counter("customer.registered.event.consumption.pauses");
+        this.resumeCounter = meterRegistry.counter("customer.registered.event.consumption.resumes");
+        meterRegistry.gauge("customer.registered.event.sends.in.flight", inFlightSends);
+        meterRegistry.gauge("customer.registered.event.consumption.paused", this, controller -> controller.paused ? 1 : 0);
+    }
+
+    @Override
+    public void configureTasks(final ScheduledTaskRegistrar taskRegistrar) {
+        taskRegistrar.addFixedDelayTask(this::sampleBufferUsage, backpressure.getCheckInterval());
+    }
+
+    /**
+     * Waits while consumption is paused, then makes the provided send and counts it as in flight
+     * until it completes, successfully or not.
+     *
+     * @param send Sends a risk assessment command.
+     * @return The result of the send.
+     * @throws InterruptedException if interrupted while consumption is paused, in which case the
+     *                              send is not made.
+     */
+    public <T> CompletableFuture<T> send(final Supplier<CompletableFuture<T>> send) throws InterruptedException {
+        if (paused || inFlightSends.get() >= backpressure.getInFlightHighWatermark() || bufferUsage >= backpressure.getBufferHighWatermark()) {
+            awaitResumed();
+        }
+        inFlightSends.incrementAndGet();
+        final CompletableFuture<T> sendResult;
+        try {
+            sendResult = send.get();
+        } catch (final RuntimeException exception) {
+            completeSend();
+            throw exception;
+        }
+        sendResult.whenComplete((result, exception) -> completeSend());
+        return sendResult;
+    }
+
+    private void awaitResumed() throws InterruptedException {
+        lock.lock();
+        try {
+            adjustConsumption();
+            while (paused) {
+                resumed.await();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void completeSend() {
+        if (inFlightSends.decrementAndGet() <= backpressure.getInFlightLowWatermark() && paused) {
+            lockAndAdjustConsumption();
+        }
+    }
+
+    private void sampleBufferUsage() {
+        bufferUsage = getBufferUsage();
+        lockAndAdjustConsumption();
+    }
+
+    private void lockAndAdjustConsumption() {
+        lock.lock();
+        try {
+            adjustConsumption();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Pauses consumption if any of the watermarks has been reached, or resumes it if it is paused
+     * and both have drained, waking up the listener threads waiting to send. To be called with the
+     * lock held.
+     */
+    private void adjustConsumption() {
+        final var inFlightCount = inFlightSends.get();
+        final var currentBufferUsage = bufferUsage;
+
+        if (!paused && (inFlightCount >= backpressure.getInFlightHighWatermark() || currentBufferUsage >= backpressure.getBufferHighWatermark())) {
+            paused = true;
+            pauseCounter.increment();
+            log.warn("Pausing consumption of customer registered events with {} commands in flight and {}% of the producer buffer in use",
+                    inFlightCount, Math.round(currentBufferUsage * 100));
+        } else if (paused && inFlightCount <= backpressure.getInFlightLowWatermark() && currentBufferUsage <= backpressure.getBufferLowWatermark()) {
+            paused = false;
+            resumeCounter.increment();
+            resumed.signalAll();
+            log.info("Resuming consumption of customer registered events with {} commands in flight and {}% of the producer buffer in use",
+                    inFlightCount, Math.round(currentBufferUsage * 100));
+        }
+    }
+
+    /**
+     * Computes the fraction of the memory buffer of the producer holding records not yet sent to the
+     * brokers, from the metrics reported by the producer.
+     *
+     * @return The fraction of the buffer in use, or zero if the metrics cannot be obtained.
+     */
+    private double getBufferUsage() {
+        double totalBytes = 0;
+        double availableBytes = 0;
+        try {
+            for (final var metric : kafkaTemplate.metrics().entrySet()) {
+                if (!PRODUCER_METRICS_GROUP.equals(metric.getKey().group())) {
+                    continue;
+                }
+                switch (metric.getKey().name()) {
+                    case "buffer-total-bytes" -> totalBytes = ((Number) metric.getValue().metricValue()).doubleValue();
+                    case "buffer-available-bytes" -> availableBytes = ((Number) metric.getValue().metricValue()).doubleValue();
+                    default -> {
+                    }
+                }
+            }
+        } catch (final KafkaException exception) {
+            log.debug("Unable to obtain producer buffer metrics", exception);
+        }
+        return totalBytes > 0 ? 1 - availableBytes / totalBytes : 0;
+    }
+
+}
@@ -1,43 +1,376 @@
 package com.behl.receptacle.listener;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.dao.DataAccessException;
+import org.springframework.kafka.KafkaException;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import com.behl.receptacle.configuration.KafkaConfiguration;
+import com.behl.receptacle.configuration.KafkaListenerConfigurationProperties;
 import com.behl.receptacle.dto.CustomerDto;
+import com.behl.receptacle.service.DeduplicationService;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import lombok.RequiredArgsConstructor;
-import lombok.SneakyThrows;
+import com.fasterxml.jackson.databind.ObjectReader;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 @Component
-@RequiredArgsConstructor
-@EnableConfigurationProperties(KafkaConfiguration.class)
-public class CustomerRegisteredEventListener {
+@ConditionalOnProperty(prefix = "com.behl.receptacle.kafka.listener", name = "relay-mode", havingValue = "deserialize", matchIfMissing = true)
+@EnableConfigurationProperties({ KafkaConfiguration.class, KafkaListenerConfigurationProperties.class })
+public class CustomerRegisteredEventListener implements DisposableBean {
   
+    static final String LISTENER_ID = "customer-registered-event-listener";
+    private static final String DEDUPLICATION_KEY_PREFIX = "customer-registered-event:processed:";
+
     private final KafkaTemplate<String, Object> kafkaTemplate;
     private final KafkaConfiguration kafkaConfiguration;
+    private final ObjectReader customerReader;
+    private final DeduplicationService deduplicationService;
+    private final CustomerRegisteredEventBackpressureController backpressureController;
+    private final KafkaListenerConfigurationProperties.Deduplication deduplication;
+    private final int processingParallelism;
+    private final ExecutorService processingExecutor;
+
+    /**
+     * The {@link ObjectReader} for {@link CustomerDto} is built once from the application's
+     * {@link ObjectMapper}, whose introspection and deserializer caches are shared across messages.
+     * Being immutable, the reader is safe to use across listener threads.
+     * 
+     * If batches are to be processed in parallel, a pool providing a thread per processing lane
+     * to every consumer of the listener is created. Batches are processed on the consumer thread if
+     * the {@link KafkaTemplate} is transactional, as the transaction of a batch is bound to it.
+     */
+    public CustomerRegisteredEventListener(final KafkaTemplate<String, Object> kafkaTemplate,
+            final KafkaConfiguration kafkaConfiguration, final ObjectMapper objectMapper,
+            final KafkaListenerConfigurationProperties kafkaListenerConfigurationProperties, final DeduplicationService deduplicationService,
+            final ObjectProvider<CustomerRegisteredEventBackpressureController> backpressureController) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.kafkaConfiguration = kafkaConfiguration;
+        this.customerReader = objectMapper.readerFor(CustomerDto.class);
+        this.deduplicationService = deduplicationService;
+        this.backpressureController = backpressureController.getIfAvailable();
+        this.deduplication = kafkaListenerConfigurationProperties.getDeduplication();
+        this.processingParallelism = kafkaListenerConfigurationProperties.getProcessingParallelism();
+        this.processingExecutor = processingParallelism > 1 && !kafkaTemplate.isTransactional()
+                ? Executors.newFixedThreadPool(kafkaListenerConfigurationProperties.getConcurrency() * processingParallelism,
+                        new CustomizableThreadFactory("customer-registered-event-processor-"))
+                : null;
+    }
 
     /**
      * Listens to the messages sent to the customer registration event topic and initiates the risk
-     * assessment process for the corresponding registered customer record by making an asynchronous
-     * call to the customer risk assessment topic.
+     * assessment process for the corresponding registered customer records by making asynchronous
+     * calls to the customer risk assessment topic.
+     * 
+     * The records returned by a poll are received as a single batch, split into lanes by their key
+     * and processed in parallel, each lane in the order of its offsets. The commands for the entire
+     * batch are sent without waiting on each other, post which their acknowledgements are awaited
+     * once before the offsets of the batch are committed. If a record cannot be deserialized or its
+     * command cannot be sent, the offsets of the records preceding it are committed and the records
+     * from the failed one onwards are redelivered. The whole batch is deserialized before any command
+     * is sent, hence no command is sent for the records following one that cannot be deserialized,
+     * and the lanes stop sending commands for the records following a failed send as soon as the
+     * failure is known. The commands of the records following a failed send that were sent before
+     * the failure became known are sent again on redelivery.
+     * 
+     * The commands are keyed by the ID of the customer, routing all commands of a customer to the
+     * same partition of the risk assessment topic in the order they are sent.
+     * 
+     * If deduplication is enabled, events already processed by any consumer, as recorded in Redis,
+     * are skipped, as are the events of the batch repeating an earlier one. The events of the batch
+     * are checked in a single round trip before any command is sent, and are recorded as processed
+     * only once their commands are acknowledged, or once the transaction of the batch commits if
+     * it is processed within one. Hence an event is never skipped in place of a command that was
+     * not sent, such as when the consumer dies or is evicted from the group midway, at the cost of
+     * the command being sent again if the consumer dies between its acknowledgement and its record.
      * 
      * @see KafkaConfiguration#getCustomerRegisteredEvent()
      * @see KafkaConfiguration#getCustomerAccountRiskAssessment()
+     * @see KafkaListenerConfigurationProperties#getProcessingParallelism()
+     * @see KafkaListenerConfigurationProperties#getDeduplication()
+     * @see CustomerRegisteredEventBackpressureController
      */
-    @SneakyThrows
-    @KafkaListener(topics = "${com.behl.receptacle.kafka.topic-name.customer-registered-event}",
-            groupId = "customer-registered-event-consumer")
-    public void execute(final String message) {
-        final var customerDto = new ObjectMapper().readValue(message, CustomerDto.class);
-        log.info("Received confirmation of account registration event for customer {}", customerDto.getId());
+    @KafkaListener(id = LISTENER_ID, topics = "${com.behl.receptacle.kafka.topic-name.customer-registered-event}",
+            groupId = "customer-registered-event-consumer", containerFactory = "batchKafkaListenerContainerFactory")
+    public void execute(final List<ConsumerRecord<String, Object>> records) {
+        log.info("Received confirmation of account registration events for {} customers", records.size());
+        
+        final var customers = new CustomerDto[records.size()];
+        final var sendResults = new ArrayList<CompletableFuture<SendResult<String, Object>>>(Collections.nCopies(records.size(), null));
+        final var lanes = splitIntoLanes(records);
+        runLanes(lanes, lane -> readCustomers(records, lane, customers, sendResults));
+        
+        // Records from the first one which could not be deserialized onwards are to be redelivered
+        final var dispatchLimit = IntStream.range(0, records.size()).filter(index -> customers[index] == null).findFirst().orElse(records.size());
+        final var deduplicationKeys = new String[records.size()];
+        final var duplicates = deduplication.isEnabled() ? findDuplicates(records, customers, dispatchLimit, deduplicationKeys) : new boolean[records.size()];
+        if (deduplication.isEnabled() && TransactionSynchronizationManager.isSynchronizationActive()) {
+            recordProcessedOnCommit(sendResults, deduplicationKeys);
+        }
+        final var firstFailedIndex = new AtomicInteger(dispatchLimit);
+        runLanes(lanes, lane -> processLane(lane.stream().filter(index -> index < dispatchLimit).toList(), customers, duplicates, sendResults,
+                firstFailedIndex));
         
+        awaitSendResults(sendResults, deduplicationKeys);
+        log.info("Successfully sent commands to initiate risk assessment for {} customers", records.size());
+    }
+
+    @Override
+    public void destroy() {
+        if (processingExecutor != null) {
+            processingExecutor.shutdown();
+        }
+    }
+
+    /**
+     * Splits the indices of the provided records into lanes by their key, or into a single lane if
+     * batches are processed on the consumer thread.
+     */
+    private List<List<Integer>> splitIntoLanes(final List<ConsumerRecord<String, Object>> records) {
+        if (processingExecutor == null || records.size() == 1) {
+            return List.of(IntStream.range(0, records.size()).boxed().toList());
+        }
+        final var lanes = new ArrayList<List<Integer>>(processingParallelism);
+        IntStream.range(0, processingParallelism).forEach(lane -> lanes.add(new ArrayList<>()));
+        for (int index = 0; index < records.size(); index++) {
+            final var key = records.get(index).key();
+            lanes.get(Math.floorMod(key != null ? key.hashCode() : index, processingParallelism)).add(index);
+        }
+        return lanes.stream().filter(lane -> !lane.isEmpty()).toList();
+    }
+
+    /**
+     * Runs the provided task for each lane, in parallel if there is more than one, and waits for all
+     * of them to complete.
+     */
+    private void runLanes(final List<List<Integer>> lanes, final Consumer<List<Integer>> laneTask) {
+        if (lanes.size() == 1) {
+            laneTask.accept(lanes.get(0));
+            return;
+        }
+        final var laneResults = lanes.stream()
+                .map(lane -> CompletableFuture.runAsync(() -> laneTask.accept(lane), processingExecutor))
+                .toArray(CompletableFuture[]::new);
+        CompletableFuture.allOf(laneResults).join();
+    }
+
+    /**
+     * Deserializes the records at the provided indices, recording each customer at the index of its
+     * record. A record which cannot be deserialized is recorded as failed.
+     */
+    private void readCustomers(final List<ConsumerRecord<String, Object>> records, final List<Integer> indices,
+            final CustomerDto[] customers, final List<CompletableFuture<SendResult<String, Object>>> sendResults) {
+        for (final var index : indices) {
+            try {
+                customers[index] = readCustomer(records.get(index).value());
+            } catch (final IOException | RuntimeException exception) {
+                sendResults.set(index, CompletableFuture.failedFuture(exception));
+            }
+        }
+    }
+
+    /**
+     * Sends the risk assessment commands of the deserialized records at the provided indices in
+     * order, recording the outcome of each at the index of its record. A duplicate record is
+     * recorded as completed without its command being sent.
+     * 
+     * The lane stops at the first record following the earliest failed record of the batch known so
+     * far, as the records from the failed one onwards are to be redelivered. Sends failing
+     * asynchronously lower the provided index as soon as they complete. If backpressure is enabled,
+     * each send waits for consumption to be resumed while it is paused.
+     */
+    private void processLane(final List<Integer> indices, final CustomerDto[] customers, final boolean[] duplicates,
+            final List<CompletableFuture<SendResult<String, Object>>> sendResults, final AtomicInteger firstFailedIndex) {
         final var initiateRiskAssessmentTopic = kafkaConfiguration.getCustomerAccountRiskAssessment();
-        kafkaTemplate.send(initiateRiskAssessmentTopic, customerDto);
-        log.info("Successfully sent command to initiate risk assessment for customer {}", customerDto.getId());
+        for (final int index : indices) {
+            if (index > firstFailedIndex.get()) {
+                return;
+            }
+            final var customerDto = customers[index];
+            if (duplicates[index]) {
+                log.info("Skipping duplicate account registration event for customer {}", customerDto.getId());
+                sendResults.set(index, CompletableFuture.completedFuture(null));
+                continue;
+            }
+            try {
+                log.debug("Sending command to initiate risk assessment for customer {}", customerDto.getId());
+                final var sendResult = backpressureController != null
+                        ? backpressureController.send(() -> kafkaTemplate.send(initiateRiskAssessmentTopic, customerDto.getId(), customerDto))
+                        : kafkaTemplate.send(initiateRiskAssessmentTopic, customerDto.getId(), customerDto);
+                sendResult.whenComplete((result, exception) -> {
+                    if (exception != null) {
+                        firstFailedIndex.accumulateAndGet(index, Math::min);
+                    }
+                });
+                sendResults.set(index, sendResult);
+            } catch (final InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                sendResults.set(index, CompletableFuture.failedFuture(
+                        new KafkaException("Interrupted while waiting to send command for customer " + customerDto.getId(), exception)));
+                firstFailedIndex.accumulateAndGet(index, Math::min);
+                return;
+            } catch (final RuntimeException exception) {
+                sendResults.set(index, CompletableFuture.failedFuture(exception));
+                firstFailedIndex.accumulateAndGet(index, Math::min);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Checks the deduplication keys of the deserialized records preceding the provided limit in a
+     * single round trip, recording the key of each record at its index. A record is a duplicate if
+     * its key has been recorded as processed, or is shared with an earlier record of the batch. If
+     * Redis cannot be reached, the records are processed without being checked against it.
+     *
+     * @return Whether the record at each index of the batch is a duplicate.
+     */
+    private boolean[] findDuplicates(final List<ConsumerRecord<String, Object>> records, final CustomerDto[] customers,
+            final int dispatchLimit, final String[] deduplicationKeys) {
+        final var duplicates = new boolean[records.size()];
+        final var indices = new ArrayList<Integer>(dispatchLimit);
+        final var keys = new ArrayList<String>(dispatchLimit);
+        final var batchKeys = new HashSet<String>();
+        for (int index = 0; index < dispatchLimit; index++) {
+            final var key = getDeduplicationKey(records.get(index), customers[index]);
+            if (key == null) {
+                continue;
+            }
+            if (!batchKeys.add(key)) {
+                duplicates[index] = true;
+                continue;
+            }
+            deduplicationKeys[index] = key;
+            indices.add(index);
+            keys.add(key);
+        }
+
+        final List<Boolean> processedResults;
+        try {
+            processedResults = deduplicationService.findProcessed(keys);
+        } catch (final DataAccessException exception) {
+            log.warn("Unable to deduplicate {} account registration events, processing them as is", keys.size(), exception);
+            return duplicates;
+        }
+        for (int position = 0; position < keys.size(); position++) {
+            if (processedResults.get(position)) {
+                duplicates[indices.get(position)] = true;
+                deduplicationKeys[indices.get(position)] = null;
+            }
+        }
+        return duplicates;
+    }
+
+    /**
+     * Reads the customer from the value of a record, which is delivered as JSON, or as the customer
+     * itself if its topic is encoded with Avro.
+     */
+    private CustomerDto readCustomer(final Object value) throws IOException {
+        if (value instanceof CustomerDto customerDto) {
+            return customerDto;
+        }
+        if (value instanceof String json && customerReader.readValue(json) instanceof CustomerDto customerDto) {
+            return customerDto;
+        }
+        throw new IOException("Customer registered event payload could not be deserialized");
+    }
+
+    private String getDeduplicationKey(final ConsumerRecord<String, Object> record, final CustomerDto customerDto) {
+        if (customerDto == null) {
+            return null;
+        }
+        return switch (deduplication.getKey()) {
+            case CUSTOMER_ID -> customerDto.getId() != null ? DEDUPLICATION_KEY_PREFIX + customerDto.getId() : null;
+            case MESSAGE_ID -> DEDUPLICATION_KEY_PREFIX + record.topic() + "-" + record.partition() + "@" + record.offset();
+        };
+    }
+
+    /**
+     * Waits for the provided send results in the order of the records of the batch, failing with the
+     * index of the first record whose command could not be sent. Unless the batch is processed
+     * within a transaction, the deduplication keys of the records whose commands were sent are
+     * recorded as processed, including the ones following a failed record, which are then skipped
+     * on redelivery.
+     */
+    private void awaitSendResults(final List<CompletableFuture<SendResult<String, Object>>> sendResults, final String[] deduplicationKeys) {
+        final var transactional = TransactionSynchronizationManager.isSynchronizationActive();
+        for (int index = 0; index < sendResults.size(); index++) {
+            try {
+                sendResults.get(index).join();
+            } catch (final CompletionException | CancellationException exception) {
+                if (!transactional) {
+                    recordProcessed(sendResults, deduplicationKeys);
+                }
+                throw new BatchListenerFailedException("Unable to initiate risk assessment for customer registered event", exception, index);
+            }
+        }
+        if (!transactional) {
+            recordProcessed(sendResults, deduplicationKeys);
+        }
+    }
+
+    /**
+     * Registers the recording of the deduplication keys of the records whose commands were sent once
+     * the current transaction commits. Nothing is recorded if it rolls back, as the commands sent
+     * within it are discarded and the whole batch is redelivered.
+     */
+    private void recordProcessedOnCommit(final List<CompletableFuture<SendResult<String, Object>>> sendResults, final String[] deduplicationKeys) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                recordProcessed(sendResults, deduplicationKeys);
+            }
+        });
+    }
+
+    /**
+     * Records the deduplication keys of the records whose commands were sent as processed, waiting
+     * for the outcome of the sends still in flight. The records whose commands could not be sent or
+     * were not sent at all are not recorded, to be processed on redelivery.
+     */
+    private void recordProcessed(final List<CompletableFuture<SendResult<String, Object>>> sendResults, final String[] deduplicationKeys) {
+        final var processedKeys = new ArrayList<String>();
+        for (int index = 0; index < sendResults.size(); index++) {
+            final var sendResult = sendResults.get(index);
+            if (deduplicationKeys[index] == null || sendResult == null) {
+                continue;
+            }
+            if (sendResult.handle((result, exception) -> exception == null).join()) {
+                processedKeys.add(deduplicationKeys[index]);
+            }
+        }
+        if (processedKeys.isEmpty()) {
+            return;
+        }
+        try {
+            deduplicationService.recordProcessed(processedKeys, deduplication.getTimeToLive());
+        } catch (final DataAccessException exception) {
+            log.warn("Unable to record {} account registration events as processed, they would be processed again on redelivery",
+                    processedKeys.size(), exception);
+        }
     }
 
-}
\ No newline at end of file
+}
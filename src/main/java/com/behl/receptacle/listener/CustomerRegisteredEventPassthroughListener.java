@@ -0,0 +1,153 @@
+package com.behl.receptacle.listener;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.stereotype.Component;
+import com.behl.receptacle.configuration.KafkaConfiguration;
+import com.behl.receptacle.configuration.KafkaEncodingConfigurationProperties;
+import com.behl.receptacle.configuration.KafkaListenerConfigurationProperties;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Relays the customer registered events to the customer account risk assessment topic without
+ * deserializing them, the outgoing command carrying the same payload as the incoming event. The
+ * bytes and headers of each record are forwarded as is, only the ID of the customer being read
+ * from the payload through a streaming parse to key the command.
+ *
+ * The listener is active only if the configuration property
+ * <code>com.behl.receptacle.kafka.listener.relay-mode</code> is set to <code>passthrough</code>, in
+ * place of the {@link CustomerRegisteredEventListener}. As the ID of the customer is read from
+ * the JSON payload and the payload is forwarded as is, neither the customer registered event topic
+ * nor the risk assessment topic can be encoded with Avro, which fails the startup of the
+ * application.
+ *
+ * @see KafkaListenerConfigurationProperties.RelayMode#PASSTHROUGH
+ * @see KafkaEncodingConfigurationProperties#getAvroTopics()
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "com.behl.receptacle.kafka.listener", name = "relay-mode", havingValue = "passthrough")
+@EnableConfigurationProperties({ KafkaConfiguration.class, KafkaListenerConfigurationProperties.class, KafkaEncodingConfigurationProperties.class })
+public class CustomerRegisteredEventPassthroughListener {
+
+    private static final String CUSTOMER_ID_FIELD = "id";
+
+    private final KafkaTemplate<String, byte[]> passthroughKafkaTemplate;
+    private final KafkaConfiguration kafkaConfiguration;
+    private final JsonFactory jsonFactory;
+
+    /**
+     * The {@link JsonFactory} of the application's {@link ObjectMapper} is used to create the
+     * streaming parsers, sharing its buffer recycling and symbol tables across messages.
+     *
+     * @throws IllegalStateException if the customer registered event topic or the risk assessment
+     *         topic is encoded with Avro.
+     */
+    public CustomerRegisteredEventPassthroughListener(final KafkaTemplate<String, byte[]> passthroughKafkaTemplate,
+            final KafkaConfiguration kafkaConfiguration, final KafkaEncodingConfigurationProperties kafkaEncodingConfigurationProperties,
+            final ObjectMapper objectMapper) {
+        final var avroTopics = kafkaEncodingConfigurationProperties.getAvroTopics();
+        for (final var topic : List.of(kafkaConfiguration.getCustomerRegisteredEvent(), kafkaConfiguration.getCustomerAccountRiskAssessment())) {
+            if (avroTopics.contains(topic)) {
+                throw new IllegalStateException("Passthrough relay mode requires JSON encoded messages, but topic " + topic + " is encoded with Avro");
+            }
+        }
+        this.passthroughKafkaTemplate = passthroughKafkaTemplate;
+        this.kafkaConfiguration = kafkaConfiguration;
+        this.jsonFactory = objectMapper.getFactory();
+    }
+
+    /**
+     * Listens to the messages sent to the customer registration event topic and forwards each as the
+     * command to initiate the risk assessment of the registered customer, keyed by the ID of the
+     * customer. The commands for the entire batch are sent without waiting on each other, post which
+     * their acknowledgements are awaited once before the offsets of the batch are committed. If the ID
+     * cannot be read from a record or its command cannot be sent, the offsets of the records
+     * preceding it are committed and the records from the failed one onwards are redelivered.
+     * Forwarding stops at the first record whose ID cannot be read or whose send fails synchronously,
+     * and at the first record following a send known to have failed asynchronously. The commands of
+     * the records following a failed send that were forwarded before the failure became known are
+     * forwarded again on redelivery.
+     *
+     * @see KafkaConfiguration#getCustomerRegisteredEvent()
+     * @see KafkaConfiguration#getCustomerAccountRiskAssessment()
+     */
+    @KafkaListener(topics = "${com.behl.receptacle.kafka.topic-name.customer-registered-event}",
+            groupId = "customer-registered-event-consumer", containerFactory = "passthroughKafkaListenerContainerFactory")
+    public void execute(final List<ConsumerRecord<String, byte[]>> records) {
+        log.info("Received confirmation of account registration events for {} customers", records.size());
+
+        final var initiateRiskAssessmentTopic = kafkaConfiguration.getCustomerAccountRiskAssessment();
+        final var sendResults = new ArrayList<CompletableFuture<SendResult<String, byte[]>>>(records.size());
+        final var firstFailedIndex = new AtomicInteger(records.size());
+        for (int index = 0; index < records.size() && index <= firstFailedIndex.get(); index++) {
+            final var record = records.get(index);
+            try {
+                final var customerId = readCustomerId(record.value());
+                log.debug("Forwarding command to initiate risk assessment for customer {}", customerId);
+                final var command = new ProducerRecord<>(initiateRiskAssessmentTopic, null, customerId, record.value(), record.headers());
+                final var sendResult = passthroughKafkaTemplate.send(command);
+                final var sentIndex = index;
+                sendResult.whenComplete((result, exception) -> {
+                    if (exception != null) {
+                        firstFailedIndex.accumulateAndGet(sentIndex, Math::min);
+                    }
+                });
+                sendResults.add(sendResult);
+            } catch (final IOException | RuntimeException exception) {
+                sendResults.add(CompletableFuture.failedFuture(exception));
+                break;
+            }
+        }
+
+        for (int index = 0; index < sendResults.size(); index++) {
+            try {
+                sendResults.get(index).join();
+            } catch (final CompletionException | CancellationException exception) {
+                throw new BatchListenerFailedException("Unable to initiate risk assessment for customer registered event", exception, index);
+            }
+        }
+        log.info("Successfully forwarded commands to initiate risk assessment for {} customers", records.size());
+    }
+
+    /**
+     * Reads the value of the top level <code>id</code> field from the provided JSON payload, skipping
+     * over every other value without materializing it. The parse stops as soon as the field is read.
+     *
+     * @return The ID of the customer, or <code>null</code> if the payload does not contain one.
+     * @throws IOException if the payload is not a valid JSON object.
+     */
+    private String readCustomerId(final byte[] payload) throws IOException {
+        try (final var parser = jsonFactory.createParser(payload)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Customer registered event payload is not a JSON object");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                final var fieldName = parser.currentName();
+                parser.nextToken();
+                if (CUSTOMER_ID_FIELD.equals(fieldName)) {
+                    return parser.getValueAsString();
+                }
+                parser.skipChildren();
+            }
+            return null;
+        }
+    }
+
+}
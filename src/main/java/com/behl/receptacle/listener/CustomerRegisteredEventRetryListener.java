@@ -0,0 +1,82 @@
+package com.behl.receptacle.listener;
+
+import java.io.IOException;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+import com.behl.receptacle.configuration.KafkaConfiguration;
+import com.behl.receptacle.dto.CustomerDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Retries the customer registered events which could not be processed by the main listener,
+ * consuming them from the retry topics while the main topic continues to be consumed at full
+ * throughput. Events which cannot be processed within the configured attempts end up on the
+ * dead-letter topic.
+ *
+ * The number of attempts made, tagged by the topic they were consumed from, and the number of
+ * events sent to the dead-letter topic are published as the metrics
+ * <code>customer.registered.event.retries</code> and
+ * <code>customer.registered.event.dead.letters</code>.
+ *
+ * @see KafkaConfiguration#retryTopicConfiguration(KafkaTemplate,
+ *      com.behl.receptacle.configuration.KafkaListenerConfigurationProperties)
+ */
+@Slf4j
+@Component
+@EnableConfigurationProperties(KafkaConfiguration.class)
+public class CustomerRegisteredEventRetryListener {
+
+    private static final String RETRIES_METRIC = "customer.registered.event.retries";
+    private static final String DEAD_LETTERS_METRIC = "customer.registered.event.dead.letters";
+
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final KafkaConfiguration kafkaConfiguration;
+    private final ObjectReader customerReader;
+    private final MeterRegistry meterRegistry;
+    private final Counter deadLetterCounter;
+
+    public CustomerRegisteredEventRetryListener(final KafkaTemplate<String, Object> kafkaTemplate,
+            final KafkaConfiguration kafkaConfiguration, final ObjectMapper objectMapper, final MeterRegistry meterRegistry) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.kafkaConfiguration = kafkaConfiguration;
+        this.customerReader = objectMapper.readerFor(CustomerDto.class);
+        this.meterRegistry = meterRegistry;
+        this.deadLetterCounter = meterRegistry.counter(DEAD_LETTERS_METRIC);
+    }
+
+    /**
+     * Listens to the customer registered events published to the retry topics and sends the command
+     * to initiate the risk assessment of the registered customer, waiting for it to be acknowledged.
+     * Any exception thrown forwards the event to the next retry topic, or to the dead-letter topic
+     * once the attempts are exhausted.
+     *
+     * @see KafkaConfiguration#getCustomerRegisteredEventRetry()
+     */
+    @KafkaListener(topics = "${com.behl.receptacle.kafka.topic-name.customer-registered-event-retry}",
+            groupId = "customer-registered-event-retry-consumer")
+    public void execute(final ConsumerRecord<String, Object> record) throws IOException {
+        meterRegistry.counter(RETRIES_METRIC, "topic", record.topic()).increment();
+        log.info("Retrying customer registered event consumed from {}", record.topic());
+
+        final CustomerDto customerDto = record.value() instanceof CustomerDto customer ? customer : customerReader.readValue((String) record.value());
+        kafkaTemplate.send(kafkaConfiguration.getCustomerAccountRiskAssessment(), customerDto.getId(), customerDto).join();
+        log.info("Successfully sent command to initiate risk assessment for customer {} on retry", customerDto.getId());
+    }
+
+    /**
+     * Handles the customer registered events published to the dead-letter topic, which are left for
+     * manual inspection.
+     */
+    public void handleDeadLetter(final ConsumerRecord<String, Object> record) {
+        deadLetterCounter.increment();
+        log.error("Unable to process customer registered event with key {}, sent to dead-letter topic {}", record.key(), record.topic());
+    }
+
+}
@@ -0,0 +1,45 @@
+package com.behl.receptacle.repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+import com.behl.receptacle.entity.OutboxEvent;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * Retrieves the oldest outbox events yet to be published and locks them until the end of the
+     * current transaction. Events locked by a concurrent transaction are skipped, allowing multiple
+     * relay instances to drain the outbox without publishing an event twice.
+     *
+     * @param pageable The maximum number of outbox events to be retrieved, without any sort.
+     * @return The unpublished outbox events in the order of their creation.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT e FROM OutboxEvent e WHERE e.publishedAt IS NULL ORDER BY e.id")
+    List<OutboxEvent> findUnpublished(Pageable pageable);
+
+    /**
+     * Marks the outbox events corresponding to the provided IDs as published in a single statement.
+     * To be invoked within a transaction.
+     *
+     * @param outboxEventIds The IDs of the published outbox events.
+     * @param publishedAt The instant at which the outbox events were published.
+     * @return The number of outbox events marked as published.
+     */
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.publishedAt = :publishedAt WHERE e.id IN :outboxEventIds")
+    int markPublished(Collection<Long> outboxEventIds, Instant publishedAt);
+
+}
@@ -1,10 +1,69 @@
 package com.behl.receptacle.repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import com.behl.receptacle.dto.UserDto;
 import com.behl.receptacle.entity.User;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, UUID> {
-}
\ No newline at end of file
+
+    /**
+     * Retrieves the details of the user corresponding to the provided ID along with the name of
+     * their country in a single join query. The result is projected into an immutable DTO, skipping
+     * entity hydration, proxy creation and the snapshot maintained for dirty checking. The query
+     * runs in a read-only transaction, and is hence routed to a read replica if configured.
+     *
+     * @param userId The unique ID of the user to be fetched.
+     * @return An Optional containing the details of the user, or an empty Optional if no user
+     *         record exists against the provided ID.
+     */
+    @Query("""
+            SELECT new com.behl.receptacle.dto.UserDto(u.id, u.firstName, u.lastName, c.id, c.name)
+            FROM User u JOIN u.country c
+            WHERE u.id = :userId
+            """)
+    @Transactional(readOnly = true)
+    Optional<UserDto> findUserDetailsById(UUID userId);
+
+    /**
+     * Retrieves the details of the users with an ID greater than the provided one, ordered by ID.
+     * The results are projected into DTOs and hence not managed by the persistence context. Seeking
+     * past the last ID of the previous page, instead of skipping rows through an offset, results in
+     * a range scan on the primary key whose cost is independent of the position of the page. The
+     * query runs in a read-only transaction, and is hence routed to a read replica if configured.
+     *
+     * @param lastId The ID of the last user of the previous page.
+     * @param pageable The maximum number of user details to be retrieved, without any sort.
+     * @return The details of the users following the provided ID.
+     */
+    @Query("""
+            SELECT new com.behl.receptacle.dto.UserDto(u.id, u.firstName, u.lastName, c.id, c.name)
+            FROM User u JOIN u.country c
+            WHERE u.id > :lastId
+            ORDER BY u.id
+            """)
+    @Transactional(readOnly = true)
+    List<UserDto> findUserDetailsAfter(UUID lastId, Pageable pageable);
+
+    /**
+     * Deletes the users corresponding to the provided IDs in a single statement, without loading
+     * them into the persistence context. Entries of the users region of the second-level cache are
+     * invalidated by Hibernate. To be invoked within a transaction.
+     *
+     * @param userIds The unique IDs of the users to be deleted.
+     * @return The number of user records deleted.
+     */
+    @Modifying
+    @Query("DELETE FROM User u WHERE u.id IN :userIds")
+    int deleteAllByIdIn(Collection<UUID> userIds);
+
+}
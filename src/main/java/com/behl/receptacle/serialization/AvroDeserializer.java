@@ -0,0 +1,41 @@
+package com.behl.receptacle.serialization;
+
+import java.io.IOException;
+import org.apache.avro.Schema;
+import org.apache.avro.message.BinaryMessageDecoder;
+import org.apache.avro.message.SchemaStore;
+import org.apache.avro.reflect.ReflectData;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Deserializer;
+import lombok.NonNull;
+
+/**
+ * Deserializes objects encoded by the {@link AvroSerializer}. The schema a message was written
+ * with is resolved from the provided {@link SchemaStore} by the fingerprint it carries, and its
+ * fields are resolved against the provided reader schema, allowing messages written with older
+ * versions of the schema to be read.
+ *
+ * @param <T> The type of the objects deserialized, whose fields are to match the reader schema by
+ *            name.
+ */
+public class AvroDeserializer<T> implements Deserializer<T> {
+
+    private final BinaryMessageDecoder<T> decoder;
+
+    public AvroDeserializer(@NonNull final Schema readerSchema, @NonNull final SchemaStore schemaStore) {
+        this.decoder = new BinaryMessageDecoder<>(ReflectData.get(), readerSchema, schemaStore);
+    }
+
+    @Override
+    public T deserialize(final String topic, final byte[] data) {
+        if (data == null) {
+            return null;
+        }
+        try {
+            return decoder.decode(data);
+        } catch (final IOException | RuntimeException exception) {
+            throw new SerializationException("Unable to deserialize message from topic " + topic, exception);
+        }
+    }
+
+}
@@ -0,0 +1,41 @@
+package com.behl.receptacle.serialization;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import org.apache.avro.Schema;
+import org.apache.avro.message.BinaryMessageEncoder;
+import org.apache.avro.reflect.ReflectData;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Serializer;
+import lombok.NonNull;
+
+/**
+ * Serializes objects with the Avro single-object encoding, i.e the binary encoding of the object
+ * prefixed with the fingerprint of the provided schema. The fields of the object are read through
+ * reflection, hence no classes are to be generated from the schema.
+ *
+ * @param <T> The type of the objects serialized, whose fields are to match the schema by name.
+ */
+public class AvroSerializer<T> implements Serializer<T> {
+
+    private final BinaryMessageEncoder<T> encoder;
+
+    public AvroSerializer(@NonNull final Schema schema) {
+        this.encoder = new BinaryMessageEncoder<>(ReflectData.get(), schema);
+    }
+
+    @Override
+    public byte[] serialize(final String topic, final T data) {
+        if (data == null) {
+            return null;
+        }
+        try {
+            final var outputStream = new ByteArrayOutputStream();
+            encoder.encode(data, outputStream);
+            return outputStream.toByteArray();
+        } catch (final IOException | RuntimeException exception) {
+            throw new SerializationException("Unable to serialize " + data.getClass().getSimpleName() + " for topic " + topic, exception);
+        }
+    }
+
+}
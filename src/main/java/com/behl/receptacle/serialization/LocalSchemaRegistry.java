@@ -0,0 +1,61 @@
+package com.behl.receptacle.serialization;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaNormalization;
+import org.apache.avro.message.SchemaStore;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Stands in for a schema registry by resolving Avro schemas from the .avsc files found at the
+ * provided location. Every message encoded with the Avro single-object encoding carries the
+ * fingerprint of the schema it was written with, which is looked up here to decode it, hence the
+ * schemas of all the versions of a record still in flight are to be retained at the location.
+ *
+ * @see AvroDeserializer
+ */
+@Slf4j
+public class LocalSchemaRegistry implements SchemaStore {
+
+    private final SchemaStore.Cache schemas = new SchemaStore.Cache();
+
+    /**
+     * @param locationPattern The location of the .avsc files, which may contain wildcards, such as
+     *                        <code>classpath*:avro/*.avsc</code>.
+     */
+    public LocalSchemaRegistry(@NonNull final String locationPattern) {
+        try {
+            for (final var resource : new PathMatchingResourcePatternResolver().getResources(locationPattern)) {
+                final var schema = parse(resource);
+                schemas.addSchema(schema);
+                log.info("Registered Avro schema {} with fingerprint {} from {}", schema.getFullName(),
+                        SchemaNormalization.parsingFingerprint64(schema), resource.getFilename());
+            }
+        } catch (final IOException exception) {
+            throw new UncheckedIOException("Unable to load Avro schemas from " + locationPattern, exception);
+        }
+    }
+
+    @Override
+    public Schema findByFingerprint(final long fingerprint) {
+        return schemas.findByFingerprint(fingerprint);
+    }
+
+    /**
+     * Parses the Avro schema defined in the provided .avsc file.
+     *
+     * @throws UncheckedIOException if the file cannot be read.
+     */
+    public static Schema parse(@NonNull final Resource resource) {
+        try (final var inputStream = resource.getInputStream()) {
+            return new Schema.Parser().parse(inputStream);
+        } catch (final IOException exception) {
+            throw new UncheckedIOException("Unable to parse Avro schema " + resource.getDescription(), exception);
+        }
+    }
+
+}
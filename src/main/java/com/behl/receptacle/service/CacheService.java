@@ -1,21 +1,43 @@
 package com.behl.receptacle.service;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.connection.RedisStringCommands.SetOption;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.stereotype.Service;
+import com.behl.receptacle.configuration.CacheConfigurationProperties;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
+@EnableConfigurationProperties(CacheConfigurationProperties.class)
 public class CacheService {
 
     private final RedisTemplate<String, Object> redisTemplate;
     private final ObjectMapper objectMapper;
+    private final CacheConfigurationProperties cacheConfigurationProperties;
+    
+    private static final RedisScript<Boolean> UPDATE_SCRIPT = RedisScript.of(new ClassPathResource("scripts/update.lua"), Boolean.class);
 
     /**
      * Sets the specified key-value pair in the cache with the given time-to-live duration.
@@ -30,14 +52,142 @@ public class CacheService {
     }
     
     /**
-     * Updates the value of the existing cached entry corresponding to the specified key.
+     * Updates the value of the existing cached entry corresponding to the specified key. The
+     * remaining time-to-live of the entry is retained.
      *
      * @param key   The key of the cached entry to be updated.
      * @param value The new value to be set for the cached entry.
+     * @return {@code true} if the cached entry was updated, {@code false} if no entry exists for
+     *         the given key.
+     */
+    public boolean update(@NonNull final String key, @NonNull final Object value) {
+        final var updated = Boolean.TRUE.equals(redisTemplate.execute(UPDATE_SCRIPT, List.of(key), value));
+        log.info("Updated cached value with key '{}' {}", key, updated ? "Successfully" : "Unsuccessfully");
+        return updated;
+    }
+    
+    /**
+     * Updates the value of the existing cached entry corresponding to the specified key, only if
+     * the version attribute of the currently cached value matches the expected version. The
+     * comparison and the update are performed atomically through an optimistic transaction and
+     * the remaining time-to-live of the entry is retained.
+     * 
+     * The new value is stored as provided, the caller is responsible for setting the next version
+     * in it.
+     *
+     * @param key              The key of the cached entry to be updated.
+     * @param value            The new value to be set for the cached entry.
+     * @param versionAttribute The name of the numeric attribute holding the version of the value.
+     * @param expectedVersion  The version the currently cached value is expected to hold.
+     * @return {@code true} if the cached entry was updated, {@code false} if no entry exists for
+     *         the given key or the cached version does not match the expected version.
+     * @see #replaceWatched(String, Function)
+     */
+    public boolean compareAndSet(@NonNull final String key, @NonNull final Object value,
+            @NonNull final String versionAttribute, @NonNull final Long expectedVersion) {
+        final var updated = replaceWatched(key, document -> {
+            final var version = document.get(versionAttribute);
+            if (version == null || !version.canConvertToLong() || version.longValue() != expectedVersion) {
+                return Optional.empty();
+            }
+            return Optional.of(serializeValue(value));
+        }).isPresent();
+        log.info("Compare-and-set of cached value with key '{}' against version {} {}", key, expectedVersion,
+                updated ? "Succeeded" : "Failed");
+        return updated;
+    }
+    
+    /**
+     * Atomically increments a numeric attribute of the existing cached entry corresponding to the
+     * specified key. A missing attribute is treated as {@code 0} and the remaining time-to-live of
+     * the entry is retained. The remaining attributes of the cached entry are written back as they
+     * were read, without any loss of precision.
+     *
+     * @param key       The key of the cached entry to be updated.
+     * @param attribute The name of the numeric attribute to be incremented.
+     * @param delta     The value to increment the attribute by, can be negative.
+     * @return An Optional containing the incremented value of the attribute, or an empty Optional
+     *         if no entry exists for the given key.
+     * @throws IllegalStateException if the attribute of the cached entry is not a long integer.
+     * @throws ArithmeticException   if the incremented value overflows a {@code long}.
+     * @see #replaceWatched(String, Function)
      */
-    public void update(@NonNull final String key, @NonNull final Object value) {
-        redisTemplate.opsForValue().setIfPresent(key, value);
-        log.info("Updated cached value with key '{}'", key);
+    public Optional<Long> increment(@NonNull final String key, @NonNull final String attribute, final long delta) {
+        final var incrementedValue = new AtomicLong();
+        final var incremented = replaceWatched(key, document -> {
+            if (!(document instanceof ObjectNode objectDocument)) {
+                throw new IllegalStateException("Cached value with key '" + key + "' is not a JSON object");
+            }
+            final var currentValue = objectDocument.path(attribute);
+            if (!currentValue.isMissingNode() && !currentValue.isNull()
+                    && !(currentValue.canConvertToExactIntegral() && currentValue.canConvertToLong())) {
+                throw new IllegalStateException("Attribute '" + attribute + "' of cached value with key '" + key + "' is not a long integer");
+            }
+            incrementedValue.set(Math.addExact(currentValue.asLong(0), delta));
+            objectDocument.put(attribute, incrementedValue.get());
+            return Optional.of(serializeDocument(objectDocument));
+        });
+        if (incremented.isEmpty()) {
+            log.info("No cached value found for key '{}' to increment attribute '{}'", key, attribute);
+            return Optional.empty();
+        }
+        log.info("Incremented attribute '{}' of cached value with key '{}' by {}", attribute, key, delta);
+        return Optional.of(incrementedValue.get());
+    }
+
+    /**
+     * Replaces the JSON document cached against the specified key with the one computed from it,
+     * retaining the remaining time-to-live of the key. The key is watched while the document is
+     * read and computed, and the replacement is executed in a MULTI/EXEC transaction, which is
+     * retried against the latest document if the key is modified concurrently.
+     * 
+     * The read-modify-write is performed here rather than in a Lua script, since re-encoding the
+     * document on the server turns empty arrays into objects and truncates numbers to 14
+     * significant digits.
+     *
+     * @param key         The key of the cached entry to be replaced.
+     * @param replacement Computes the serialized document to be cached from the current one, or
+     *                    an empty Optional to leave the cached entry unchanged.
+     * @return An Optional containing the cached document, or an empty Optional if no entry exists
+     *         for the given key or the replacement left it unchanged.
+     */
+    private Optional<byte[]> replaceWatched(final String key, final Function<JsonNode, Optional<byte[]>> replacement) {
+        @SuppressWarnings("unchecked")
+        final var rawKey = ((RedisSerializer<String>) redisTemplate.getKeySerializer()).serialize(key);
+        while (true) {
+            final var outcome = redisTemplate.execute((RedisCallback<Optional<Optional<byte[]>>>) connection -> {
+                connection.watch(rawKey);
+                final var currentValue = connection.stringCommands().get(rawKey);
+                final var replacedValue = currentValue == null ? Optional.<byte[]>empty() : replacement.apply(readDocument(currentValue));
+                if (replacedValue.isEmpty()) {
+                    connection.unwatch();
+                    return Optional.of(replacedValue);
+                }
+                connection.multi();
+                connection.stringCommands().set(rawKey, replacedValue.get(), Expiration.keepTtl(), SetOption.ifPresent());
+                final var results = connection.exec();
+                return results == null || results.isEmpty() ? Optional.empty() : Optional.of(replacedValue);
+            });
+            if (outcome.isPresent()) {
+                return outcome.get();
+            }
+            log.info("Cached value with key '{}' was modified concurrently, retrying replacement", key);
+        }
+    }
+
+    @SneakyThrows
+    private JsonNode readDocument(final byte[] value) {
+        return objectMapper.readTree(value);
+    }
+
+    @SneakyThrows
+    private byte[] serializeDocument(final JsonNode document) {
+        return objectMapper.writeValueAsBytes(document);
+    }
+
+    @SuppressWarnings("unchecked")
+    private byte[] serializeValue(final Object value) {
+        return ((RedisSerializer<Object>) redisTemplate.getValueSerializer()).serialize(value);
     }
 
     /**
@@ -70,5 +220,78 @@ public class CacheService {
         final var deletionStatus = redisTemplate.delete(key);
         log.info("Deleted cached value with key '{}' {}", key, deletionStatus ? "Successfully" : "Unsuccessfully");
     }
+    
+    /**
+     * Deletes the cached entries with the specified keys from the cache in a single UNLINK command,
+     * which reclaims memory in a background thread. Keys without a cached entry are ignored.
+     *
+     * @param keys The keys of the cached entries to be deleted.
+     * @return The number of cached entries deleted.
+     */
+    public Long delete(@NonNull final Collection<String> keys) {
+        if (keys.isEmpty()) {
+            return 0L;
+        }
+        final var deletedCount = Optional.ofNullable(redisTemplate.unlink(keys)).orElse(0L);
+        log.info("Deleted {} cached values out of {} specified keys", deletedCount, keys.size());
+        return deletedCount;
+    }
+    
+    /**
+     * Deletes all the cached entries with keys matching the specified glob-style pattern. The
+     * keyspace is traversed incrementally using the SCAN command and the matching keys are removed
+     * in batches using the UNLINK command, which reclaims memory in a background thread. Neither
+     * command blocks the cache server for the duration of the traversal, and the rate at which keys
+     * are removed is capped to avoid starving other clients.
+     *
+     * @param pattern The glob-style pattern of the keys to be deleted, e.g. {@code user:42:*}
+     * @return The number of cached entries deleted.
+     * @see CacheConfigurationProperties.BulkInvalidation
+     */
+    public Long deleteByPattern(@NonNull final String pattern) {
+        final var bulkInvalidation = cacheConfigurationProperties.getBulkInvalidation();
+        final var batchSize = bulkInvalidation.getScanBatchSize();
+        final var scanOptions = ScanOptions.scanOptions().match(pattern).count(batchSize).build();
+        log.info("Deleting cached values with keys matching pattern '{}'", pattern);
+        
+        final var startTime = System.nanoTime();
+        final var keys = new ArrayList<String>(batchSize);
+        var deletedCount = 0L;
+        try (final var cursor = redisTemplate.scan(scanOptions)) {
+            while (cursor.hasNext()) {
+                keys.add(cursor.next());
+                if (keys.size() == batchSize) {
+                    deletedCount += unlink(keys);
+                    throttle(deletedCount, bulkInvalidation.getMaxKeysPerSecond(), startTime);
+                }
+            }
+        }
+        deletedCount += unlink(keys);
+        
+        log.info("Deleted {} cached values with keys matching pattern '{}'", deletedCount, pattern);
+        return deletedCount;
+    }
+
+    private long unlink(final List<String> keys) {
+        if (keys.isEmpty()) {
+            return 0;
+        }
+        final var unlinkedCount = Optional.ofNullable(redisTemplate.unlink(keys)).orElse(0L);
+        keys.clear();
+        return unlinkedCount;
+    }
+
+    /**
+     * Pauses the current thread until the number of deleted keys is within the configured rate
+     * since the start of the bulk invalidation.
+     */
+    @SneakyThrows
+    private void throttle(final long deletedCount, final int maxKeysPerSecond, final long startTime) {
+        final var expectedElapsedNanos = TimeUnit.SECONDS.toNanos(deletedCount) / maxKeysPerSecond;
+        final var actualElapsedNanos = System.nanoTime() - startTime;
+        if (expectedElapsedNanos > actualElapsedNanos) {
+            TimeUnit.NANOSECONDS.sleep(expectedElapsedNanos - actualElapsedNanos);
+        }
+    }
 
 }
@@ -0,0 +1,115 @@
+package com.behl.receptacle.service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import com.behl.receptacle.configuration.PersistenceConfigurationProperties;
+import com.behl.receptacle.entity.Country;
+import com.behl.receptacle.repository.CountryRepository;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory, read-only registry of the country records saved in the datasource. The records are
+ * added through Flyway migration scripts and never modified, hence are loaded only once and served
+ * from memory thereafter.
+ * 
+ * The records are loaded on application startup if preloading is enabled, else on first access.
+ * Loading them also populates the <code>countries</code> region of the second-level cache, from
+ * which the country association of loaded user records is resolved.
+ *
+ * @see PersistenceConfigurationProperties.CountryRegistry
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@EnableConfigurationProperties(PersistenceConfigurationProperties.class)
+public class CountryRegistry {
+
+    private final CountryRepository countryRepository;
+    private final PersistenceConfigurationProperties persistenceConfigurationProperties;
+    
+    private volatile Snapshot snapshot;
+
+    @EventListener(ApplicationReadyEvent.class)
+    void preload() {
+        if (persistenceConfigurationProperties.getCountryRegistry().isPreload()) {
+            snapshot();
+        }
+    }
+
+    /**
+     * Retrieves the list of all country records.
+     *
+     * @return An unmodifiable list of {@link Country} objects.
+     */
+    public List<Country> getAll() {
+        return snapshot().countries();
+    }
+
+    /**
+     * Retrieves the country record corresponding to the provided ID.
+     *
+     * @param countryId The unique ID of the country to be fetched.
+     * @return An Optional containing the {@link Country} corresponding to the provided ID, or an
+     *         empty Optional if no country record exists against it.
+     */
+    public Optional<Country> getById(final int countryId) {
+        final var countriesById = snapshot().countriesById();
+        if (countryId < 0 || countryId >= countriesById.length) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(countriesById[countryId]);
+    }
+
+    /**
+     * Retrieves the country record corresponding to the provided name.
+     *
+     * @param name The name of the country to be fetched.
+     * @return An Optional containing the {@link Country} corresponding to the provided name, or an
+     *         empty Optional if no country record exists against it.
+     * @throws IllegalArgumentException if the {@code name} parameter is {@code null}.
+     */
+    public Optional<Country> getByName(@NonNull final String name) {
+        return Optional.ofNullable(snapshot().countriesByName().get(name));
+    }
+
+    private Snapshot snapshot() {
+        var currentSnapshot = snapshot;
+        if (currentSnapshot == null) {
+            synchronized (this) {
+                currentSnapshot = snapshot;
+                if (currentSnapshot == null) {
+                    currentSnapshot = load();
+                    snapshot = currentSnapshot;
+                }
+            }
+        }
+        return currentSnapshot;
+    }
+
+    private Snapshot load() {
+        log.info("Loading country records into registry");
+        final var countries = List.copyOf(countryRepository.findAll());
+        
+        final var maximumId = countries.stream().mapToInt(Country::getId).max().orElse(0);
+        final var countriesById = new Country[maximumId + 1];
+        countries.forEach(country -> countriesById[country.getId()] = country);
+        final var countriesByName = countries.stream()
+                .collect(Collectors.toUnmodifiableMap(Country::getName, Function.identity()));
+        
+        log.info("Successfully loaded {} country records into registry", countries.size());
+        return new Snapshot(countries, countriesById, countriesByName);
+    }
+
+    private record Snapshot(List<Country> countries, Country[] countriesById, Map<String, Country> countriesByName) {
+    }
+
+}
@@ -0,0 +1,73 @@
+package com.behl.receptacle.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.redis.connection.RedisStringCommands.SetOption;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.stereotype.Service;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Records the keys of processed messages in Redis, allowing consumers sharing the same Redis
+ * instance to detect messages which have already been processed, such as the ones redelivered
+ * after a rebalance. A key is to be recorded only once its message has been fully processed, so
+ * that a consumer dying midway does not cause the redelivered message to be skipped.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DeduplicationService {
+
+    private static final byte[] PROCESSED = "1".getBytes(StandardCharsets.UTF_8);
+
+    private final RedisTemplate<String, Object> redisTemplate;
+
+    /**
+     * Checks whether the provided keys have been recorded as processed. All the keys are checked in
+     * a single pipelined round trip to Redis, without recording anything.
+     *
+     * @param keys The keys of the messages to be checked.
+     * @return Whether each key, in the order provided, has been recorded as processed.
+     */
+    public List<Boolean> findProcessed(@NonNull final List<String> keys) {
+        if (keys.isEmpty()) {
+            return List.of();
+        }
+        final var keySerializer = RedisSerializer.string();
+        final var existenceResults = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            keys.forEach(key -> connection.keyCommands().exists(keySerializer.serialize(key)));
+            return null;
+        });
+        final var processedKeys = existenceResults.stream().map(Boolean.TRUE::equals).toList();
+        log.debug("Found {} out of {} keys processed", processedKeys.stream().filter(Boolean::booleanValue).count(), keys.size());
+        return processedKeys;
+    }
+
+    /**
+     * Records the provided keys as processed with the given time-to-live, in a single pipelined
+     * round trip to Redis. Keys already recorded have their time-to-live renewed.
+     *
+     * @param keys       The keys of the processed messages.
+     * @param timeToLive The duration for which a recorded key is retained.
+     */
+    public void recordProcessed(@NonNull final Collection<String> keys, @NonNull final Duration timeToLive) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        final var keySerializer = RedisSerializer.string();
+        final var expiration = Expiration.from(timeToLive);
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            keys.forEach(key -> connection.stringCommands().set(keySerializer.serialize(key), PROCESSED, expiration, SetOption.upsert()));
+            return null;
+        });
+        log.debug("Recorded {} keys as processed", keys.size());
+    }
+
+}
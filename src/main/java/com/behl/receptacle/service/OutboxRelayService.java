@@ -0,0 +1,119 @@
+package com.behl.receptacle.service;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.kafka.KafkaException;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+import com.behl.receptacle.configuration.OutboxConfigurationProperties;
+import com.behl.receptacle.entity.OutboxEvent;
+import com.behl.receptacle.repository.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Relays the events recorded in the outbox table to their Kafka topics, decoupling the publishing
+ * of events from the transactions recording them. The outbox is drained periodically in batches,
+ * each published asynchronously and marked as published in bulk once acknowledged by Kafka. If a
+ * batch fails to be published, it is rolled back and retried on the next poll, hence events are
+ * delivered at least once.
+ *
+ * The relay is active only if enabled through the configuration property
+ * <code>com.behl.receptacle.outbox.relay.enabled</code>.
+ *
+ * @see OutboxConfigurationProperties.Relay
+ */
+@Slf4j
+@Service
+@EnableScheduling
+@RequiredArgsConstructor
+@EnableConfigurationProperties(OutboxConfigurationProperties.class)
+@ConditionalOnProperty(prefix = "com.behl.receptacle.outbox.relay", name = "enabled", havingValue = "true")
+public class OutboxRelayService implements SchedulingConfigurer {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final KafkaTemplate<String, String> outboxKafkaTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final OutboxConfigurationProperties outboxConfigurationProperties;
+
+    @Override
+    public void configureTasks(final ScheduledTaskRegistrar taskRegistrar) {
+        final var pollInterval = outboxConfigurationProperties.getRelay().getPollInterval();
+        taskRegistrar.addFixedDelayTask(this::relayPendingEvents, pollInterval);
+    }
+
+    /**
+     * Publishes the pending outbox events in batches until the outbox is drained.
+     *
+     * @return The number of outbox events published.
+     */
+    public long relay() {
+        final var batchSize = outboxConfigurationProperties.getRelay().getBatchSize();
+        final var transactionTemplate = new TransactionTemplate(transactionManager);
+
+        long relayedCount = 0;
+        int batchCount;
+        do {
+            batchCount = transactionTemplate.execute(status -> relayBatch(batchSize));
+            relayedCount += batchCount;
+        } while (batchCount == batchSize);
+
+        if (relayedCount > 0) {
+            log.info("Successfully relayed {} outbox events", relayedCount);
+        }
+        return relayedCount;
+    }
+
+    private void relayPendingEvents() {
+        try {
+            relay();
+        } catch (final DataAccessException | TransactionException | KafkaException exception) {
+            log.error("Unable to relay outbox events, retrying on next poll", exception);
+        }
+    }
+
+    /**
+     * Publishes the oldest unpublished outbox events, waiting for all of them to be acknowledged
+     * before marking them as published. To be invoked within a transaction. If the waiting thread
+     * is interrupted, the interrupt flag is restored and the batch is aborted, to be retried on
+     * the next poll.
+     */
+    private int relayBatch(final int batchSize) {
+        final var outboxEvents = outboxEventRepository.findUnpublished(PageRequest.ofSize(batchSize));
+        if (outboxEvents.isEmpty()) {
+            return 0;
+        }
+
+        final var sendResults = outboxEvents.stream()
+                .map(outboxEvent -> outboxKafkaTemplate.send(outboxEvent.getTopic(), outboxEvent.getAggregateId().toString(), outboxEvent.getPayload()))
+                .toArray(CompletableFuture[]::new);
+        final var sendTimeout = outboxConfigurationProperties.getRelay().getSendTimeout();
+        try {
+            CompletableFuture.allOf(sendResults).get(sendTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (final ExecutionException | TimeoutException exception) {
+            throw new KafkaException("Unable to publish batch of " + outboxEvents.size() + " outbox events", exception);
+        } catch (final InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new KafkaException("Interrupted while publishing batch of " + outboxEvents.size() + " outbox events", exception);
+        }
+
+        final List<Long> outboxEventIds = outboxEvents.stream().map(OutboxEvent::getId).toList();
+        outboxEventRepository.markPublished(outboxEventIds, Instant.now());
+        return outboxEvents.size();
+    }
+
+}
@@ -1,57 +1,176 @@
 package com.behl.receptacle.service;
 
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
+import org.hibernate.CacheMode;
 import org.hibernate.Hibernate;
+import org.hibernate.Session;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import com.behl.receptacle.configuration.CacheConfigurationProperties;
+import com.behl.receptacle.configuration.KafkaConfiguration;
+import com.behl.receptacle.configuration.PersistenceConfigurationProperties;
+import com.behl.receptacle.dto.CustomerDto;
+import com.behl.receptacle.dto.UserDto;
 import com.behl.receptacle.entity.Country;
+import com.behl.receptacle.entity.OutboxEvent;
 import com.behl.receptacle.entity.User;
-import com.behl.receptacle.repository.CountryRepository;
+import com.behl.receptacle.repository.OutboxEventRepository;
 import com.behl.receptacle.repository.UserRepository;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
+@EnableConfigurationProperties({ CacheConfigurationProperties.class, PersistenceConfigurationProperties.class })
 public class PersistenceService {
 
-    private final CountryRepository countryRepository;
+    private final CountryRegistry countryRegistry;
     private final UserRepository userRepository;
+    private final OutboxEventRepository outboxEventRepository;
+    private final KafkaConfiguration kafkaConfiguration;
+    private final CacheService cacheService;
+    private final CacheConfigurationProperties cacheConfigurationProperties;
+    private final PersistenceConfigurationProperties persistenceConfigurationProperties;
+    private final EntityManager entityManager;
+    private final PlatformTransactionManager transactionManager;
+    private final ObjectMapper objectMapper;
+    
+    private static final String USER_CACHE_KEY_PREFIX = "users:";
+    private static final UserDto ABSENT_USER = new UserDto(null, null, null, null, null);
+    private static final UUID MINIMUM_USER_ID = new UUID(0, 0);
     
     /**
      * Retrieves the list of all coutry records saved in the datasource.
      *
      * Note: The country records are added during the application startup through Flyway migration
      * scripts. These records can only be read through the microservice and are not intended to be
-     * modified externally.
+     * modified externally, hence are served from the in-memory {@link CountryRegistry}.
      *
-     * @return A list of {@link Country} objects saved in the datasource.
+     * @return An unmodifiable list of {@link Country} objects saved in the datasource.
      */
     public List<Country> getAllCountries() {
         log.info("Fetching list of all countries");
-        final var countries = countryRepository.findAll();
-        log.info("Successfully fetched {} country records from the datasource", countries.size());
+        final var countries = countryRegistry.getAll();
+        log.info("Successfully fetched {} country records from the country registry", countries.size());
         return countries;
     }
 
     /**
      * Saves a user record in the datasource. The ID of the user is generated by the system and
      * cannot be externally specified.
+     * 
+     * A customer registered event for the saved user is recorded in the outbox table within the same
+     * transaction, to be published asynchronously by the {@link OutboxRelayService}. The cached
+     * details of the user, if any, are evicted once the transaction commits.
      *
      * @param user The {@link User} object to be saved.
      * @return The unique ID of the saved user.
      * @throws IllegalArgumentException if the {@link User} parameter is {@code null}.
      */
+    @Transactional
     public UUID saveUser(@NonNull final User user) {
         final var savedUser = userRepository.save(user);
+        outboxEventRepository.save(createCustomerRegisteredEvent(savedUser));
         log.info("User record with ID '{}' saved successfully", savedUser.getId());
+        evictCachedUserAfterCommit(savedUser.getId());
         return savedUser.getId();
     }
 
+    /**
+     * Imports user records in bulk from the provided stream of newline delimited JSON objects, each
+     * holding the <code>firstName</code>, <code>lastName</code> and <code>countryId</code> of a
+     * user. As with {@link #saveUser(User)}, the IDs of the imported users are generated by the
+     * system.
+     * 
+     * The records are read incrementally and inserted in JDBC batches of the configured size, each
+     * committed in its own transaction, post which the persistence context is cleared. Memory usage
+     * is hence independent of the size of the import. If a record is malformed or refers to a
+     * non-existent country, the import is aborted and the batches committed till then are
+     * retained. The provided stream is not closed.
+     *
+     * @param users The stream of newline delimited JSON user records to be imported.
+     * @return The number of user records imported.
+     * @throws IllegalArgumentException if the {@code users} parameter is {@code null}.
+     * @throws EntityNotFoundException if a record refers to a country that does not exist.
+     * @throws java.io.IOException if the stream cannot be read or contains malformed JSON.
+     * @see PersistenceConfigurationProperties.BulkImport
+     */
+    @SneakyThrows
+    public long importUsers(@NonNull final InputStream users) {
+        final var batchSize = persistenceConfigurationProperties.getBulkImport().getBatchSize();
+        final var transactionTemplate = new TransactionTemplate(transactionManager);
+        final var startTime = System.nanoTime();
+        log.info("Importing user records in batches of {}", batchSize);
+        
+        long importedCount = 0;
+        try (final MappingIterator<UserDto> userRecords = objectMapper.readerFor(UserDto.class).readValues(users)) {
+            while (userRecords.hasNext()) {
+                importedCount += transactionTemplate.execute(status -> persistBatch(userRecords, batchSize));
+                log.info("Imported {} user records so far", importedCount);
+            }
+        }
+        
+        final var elapsedTime = Duration.ofNanos(System.nanoTime() - startTime);
+        log.info("Successfully imported {} user records in {} ms", importedCount, elapsedTime.toMillis());
+        return importedCount;
+    }
+
+    /**
+     * Exports the details of all user records in the datasource, in the order of their IDs, to the
+     * provided consumer.
+     * 
+     * The records are fetched page by page, each page seeking past the last ID of the previous one,
+     * and are read as DTO projections which are not held by the persistence context. Memory usage
+     * is hence bound by the configured page size irrespective of the number of records exported.
+     * Each page is read in its own read-only transaction, routed to a read replica if configured,
+     * therefore records saved or deleted during an export may or may not be included.
+     *
+     * @param consumer The consumer to which the details of each user record are to be passed.
+     * @return The number of user records exported.
+     * @throws IllegalArgumentException if the {@code consumer} parameter is {@code null}.
+     * @see PersistenceConfigurationProperties.Export
+     */
+    public long exportUsers(@NonNull final Consumer<UserDto> consumer) {
+        final var page = PageRequest.ofSize(persistenceConfigurationProperties.getExport().getPageSize());
+        log.info("Exporting user records in pages of {}", page.getPageSize());
+        
+        long exportedCount = 0;
+        var lastUserId = MINIMUM_USER_ID;
+        List<UserDto> users;
+        do {
+            users = userRepository.findUserDetailsAfter(lastUserId, page);
+            users.forEach(consumer);
+            exportedCount += users.size();
+            if (!users.isEmpty()) {
+                lastUserId = users.get(users.size() - 1).id();
+            }
+        } while (users.size() == page.getPageSize());
+        
+        log.info("Successfully exported {} user records", exportedCount);
+        return exportedCount;
+    }
+
     /**
      * Retrieves a user record from the datasource corresponding to the provided user ID.
      *
@@ -71,15 +190,181 @@ public class PersistenceService {
     }
 
     /**
-     * Deletes a user record from the datasource corresponding to the provided user ID.
+     * Retrieves the details of a user record corresponding to the provided user ID. The details are
+     * read as an immutable projection of the user and country records, avoiding the overhead of
+     * managed entities, and are to be preferred over {@link #getUserById(UUID)} for read-only use.
+     * 
+     * If caching of user records is enabled, the details are served from the cache and the
+     * datasource is queried only on a cache miss, post which the fetched details are cached. The
+     * absence of a user record is cached as well for a shorter duration. If the cache is
+     * unavailable, the details are fetched from the datasource, and writes to user records proceed
+     * without evicting their cached details, which then expire with their time to live.
+     *
+     * @param userId The unique ID of the user to be fetched.
+     * @return An Optional containing the {@link UserDto} corresponding to the provided user ID, or
+     *         an empty Optional if no user record exists against it.
+     * @throws IllegalArgumentException if the {@code userId} parameter is {@code null}.
+     * @see CacheConfigurationProperties.Users
+     */
+    public Optional<UserDto> getUserDetailsById(@NonNull final UUID userId) {
+        log.info("Fetching user details by ID '{}'", userId);
+        final var userCacheProperties = cacheConfigurationProperties.getUsers();
+        if (!userCacheProperties.isEnabled()) {
+            return userRepository.findUserDetailsById(userId);
+        }
+        
+        final var cacheKey = USER_CACHE_KEY_PREFIX + userId;
+        final var cachedUser = fetchCachedUser(cacheKey);
+        if (cachedUser.isPresent()) {
+            log.info("User details with ID '{}' served from cache", userId);
+            return cachedUser.filter(user -> user.id() != null);
+        }
+        
+        final var user = userRepository.findUserDetailsById(userId);
+        final var timeToLive = user.isPresent() ? userCacheProperties.getTimeToLive() : userCacheProperties.getNegativeTimeToLive();
+        cacheUser(cacheKey, user.orElse(ABSENT_USER), timeToLive);
+        return user;
+    }
+
+    /**
+     * Deletes a user record from the datasource corresponding to the provided user ID. The cached
+     * details of the user, if any, are evicted once the transaction commits.
      *
      * @param userId The unique ID of the user to be deleted.
      * @throws IllegalArgumentException if the {@code userId} parameter is {@code null}.
      */
+    @Transactional
     public void deleteUser(@NonNull final UUID userId) {
         log.info("Deleting user by ID '{}'", userId);
         userRepository.deleteById(userId);
         log.info("User record with ID '{}' deleted successfully", userId);
+        evictCachedUserAfterCommit(userId);
+    }
+
+    /**
+     * Deletes the user records corresponding to the provided user IDs from the datasource, without
+     * loading them. The IDs are split into chunks of the configured size, each deleted through a
+     * single <code>DELETE ... WHERE id IN (...)</code> statement in its own transaction, post which
+     * the cached details of the users in the chunk are evicted. IDs without a corresponding user
+     * record are ignored. If a chunk fails, the chunks deleted till then remain deleted.
+     *
+     * @param userIds The unique IDs of the users to be deleted.
+     * @return The number of user records deleted.
+     * @throws IllegalArgumentException if the {@code userIds} parameter is {@code null}.
+     * @see PersistenceConfigurationProperties.BulkDelete
+     */
+    public long deleteUsers(@NonNull final Collection<UUID> userIds) {
+        final var chunkSize = persistenceConfigurationProperties.getBulkDelete().getChunkSize();
+        final var transactionTemplate = new TransactionTemplate(transactionManager);
+        final var distinctUserIds = List.copyOf(new LinkedHashSet<>(userIds));
+        log.info("Deleting {} users in chunks of {}", distinctUserIds.size(), chunkSize);
+        
+        long deletedCount = 0;
+        for (int fromIndex = 0; fromIndex < distinctUserIds.size(); fromIndex += chunkSize) {
+            final var chunk = distinctUserIds.subList(fromIndex, Math.min(fromIndex + chunkSize, distinctUserIds.size()));
+            deletedCount += transactionTemplate.execute(status -> userRepository.deleteAllByIdIn(chunk));
+            evictCachedUsers(chunk);
+        }
+        
+        log.info("Successfully deleted {} user records", deletedCount);
+        return deletedCount;
+    }
+
+    /**
+     * Persists up to the provided number of user records read from the provided iterator, flushing
+     * them as a single JDBC batch and detaching them from the persistence context thereafter. The
+     * records are not put into the second-level cache. To be invoked within a transaction.
+     */
+    private int persistBatch(final MappingIterator<UserDto> userRecords, final int batchSize) {
+        final var session = entityManager.unwrap(Session.class);
+        session.setJdbcBatchSize(batchSize);
+        session.setCacheMode(CacheMode.IGNORE);
+        var persistedCount = 0;
+        while (persistedCount < batchSize && userRecords.hasNext()) {
+            final var userRecord = userRecords.next();
+            final var user = new User();
+            user.setFirstName(userRecord.firstName());
+            user.setLastName(userRecord.lastName());
+            user.setCountry(Optional.ofNullable(userRecord.countryId()).flatMap(countryRegistry::getById).orElseThrow(
+                    () -> new EntityNotFoundException("Unable to find country with ID " + userRecord.countryId())));
+            entityManager.persist(user);
+            persistedCount++;
+        }
+        entityManager.flush();
+        entityManager.clear();
+        return persistedCount;
+    }
+
+    @SneakyThrows
+    private OutboxEvent createCustomerRegisteredEvent(final User user) {
+        final var customerDto = new CustomerDto();
+        customerDto.setId(user.getId().toString());
+        customerDto.setFirstName(user.getFirstName());
+        customerDto.setLastName(user.getLastName());
+        
+        final var outboxEvent = new OutboxEvent();
+        outboxEvent.setAggregateId(user.getId());
+        outboxEvent.setTopic(kafkaConfiguration.getCustomerRegisteredEvent());
+        outboxEvent.setPayload(objectMapper.writeValueAsString(customerDto));
+        return outboxEvent;
+    }
+
+    /**
+     * Evicts the cached details of the provided user once the current transaction commits, so that
+     * a concurrent lookup cannot cache the record as it was prior to the commit. Evicts them
+     * immediately if no transaction is active.
+     */
+    private void evictCachedUserAfterCommit(final UUID userId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evictCachedUser(userId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evictCachedUser(userId);
+            }
+        });
+    }
+
+    private void evictCachedUser(final UUID userId) {
+        if (!cacheConfigurationProperties.getUsers().isEnabled()) {
+            return;
+        }
+        final var cacheKey = USER_CACHE_KEY_PREFIX + userId;
+        try {
+            cacheService.delete(cacheKey);
+        } catch (final DataAccessException exception) {
+            log.warn("Unable to evict cached value with key '{}'", cacheKey, exception);
+        }
+    }
+
+    private void evictCachedUsers(final List<UUID> userIds) {
+        if (!cacheConfigurationProperties.getUsers().isEnabled()) {
+            return;
+        }
+        try {
+            cacheService.delete(userIds.stream().map(userId -> USER_CACHE_KEY_PREFIX + userId).toList());
+        } catch (final DataAccessException exception) {
+            log.warn("Unable to evict cached values of {} users", userIds.size(), exception);
+        }
+    }
+
+    private Optional<UserDto> fetchCachedUser(final String cacheKey) {
+        try {
+            return cacheService.fetch(cacheKey, UserDto.class);
+        } catch (final DataAccessException exception) {
+            log.warn("Unable to fetch cached value with key '{}', falling back to datasource", cacheKey, exception);
+            return Optional.empty();
+        }
+    }
+
+    private void cacheUser(final String cacheKey, final UserDto user, final Duration timeToLive) {
+        try {
+            cacheService.set(cacheKey, user, timeToLive);
+        } catch (final DataAccessException exception) {
+            log.warn("Unable to cache value with key '{}'", cacheKey, exception);
+        }
     }
 
 }
\ No newline at end of file
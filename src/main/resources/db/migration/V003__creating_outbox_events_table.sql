@@ -0,0 +1,10 @@
+CREATE TABLE outbox_events (
+  id BIGINT NOT NULL AUTO_INCREMENT,
+  aggregate_id BINARY(16) NOT NULL,
+  topic VARCHAR(255) NOT NULL,
+  payload TEXT NOT NULL,
+  created_at TIMESTAMP(6) NOT NULL,
+  published_at TIMESTAMP(6),
+  PRIMARY KEY (id),
+  INDEX outbox_events_published_at_idx (published_at, id)
+);
@@ -0,0 +1,8 @@
+-- Replaces the value cached against KEYS[1] with ARGV[1] if the key exists, retaining its remaining
+-- time-to-live.
+--
+-- Returns 1 if the value was replaced, 0 if the key is absent.
+if redis.call('SET', KEYS[1], ARGV[1], 'XX', 'KEEPTTL') then
+    return 1
+end
+return 0
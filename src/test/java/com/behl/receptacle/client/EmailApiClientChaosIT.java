@@ -115,8 +115,8 @@ public class EmailApiClientChaosIT {
         assertTrue(exception.getCause().getCause() instanceof SocketTimeoutException);
         assertThat(exception.getMessage()).contains("Connect timed out");
         
-        // Verify time between invocation of API and timeout exception, corresponds to timeout set in RestTemplate
-        // com.behl.receptacle.configuration.RestTemplateConfiguration
+        // Verify time between invocation of API and timeout exception, corresponds to connect timeout configured in
+        // com.behl.receptacle.configuration.EmailClientConfigurationProperties
         assertTrue(stopWatch.getTime(TimeUnit.SECONDS) >= 10);
     }
     
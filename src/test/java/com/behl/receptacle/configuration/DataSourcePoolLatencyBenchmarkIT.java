@@ -0,0 +1,102 @@
+package com.behl.receptacle.configuration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.utility.DockerImageName;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Compares the 99th percentile latency of concurrent queries executed through an unpooled
+ * datasource, opening a physical connection per query, against a HikariCP pool configured as in
+ * the application. Both the datasources are warmed up with the same number of queries before being
+ * measured. Being sensitive to the load of the host, the benchmark is executed only when the system
+ * property <code>benchmark</code> is set to <code>true</code>.
+ *
+ * <pre>
+ * {@code
+ * mvn verify -Dit.test=DataSourcePoolLatencyBenchmarkIT -Dbenchmark=true
+ * }
+ * </pre>
+ */
+@Slf4j
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class DataSourcePoolLatencyBenchmarkIT {
+
+    private static final int THREAD_COUNT = 8;
+    private static final int WARMUP_QUERIES_PER_THREAD = 100;
+    private static final int QUERIES_PER_THREAD = 500;
+
+    @Test
+    void shouldServeConcurrentQueriesWithLowerTailLatencyThanUnpooledDataSource() {
+        try (final var mySQLContainer = new MySQLContainer<>(DockerImageName.parse("mysql:8"));
+                final var pooledDataSource = new HikariDataSource()) {
+            mySQLContainer.start();
+
+            // Prepare a pooled datasource sized and tuned as in application.yaml
+            pooledDataSource.setJdbcUrl(mySQLContainer.getJdbcUrl());
+            pooledDataSource.setUsername(mySQLContainer.getUsername());
+            pooledDataSource.setPassword(mySQLContainer.getPassword());
+            pooledDataSource.setMaximumPoolSize(20);
+            pooledDataSource.setMinimumIdle(5);
+            pooledDataSource.addDataSourceProperty("cachePrepStmts", true);
+            pooledDataSource.addDataSourceProperty("useServerPrepStmts", true);
+
+            // Prepare an unpooled datasource opening a physical connection per query
+            final var unpooledDataSource = new DriverManagerDataSource(mySQLContainer.getJdbcUrl(), mySQLContainer.getUsername(), mySQLContainer.getPassword());
+
+            // Warm up both the datasources, then compute the 99th percentile latency of each
+            measure99thPercentileLatencyNanos(unpooledDataSource, WARMUP_QUERIES_PER_THREAD);
+            measure99thPercentileLatencyNanos(pooledDataSource, WARMUP_QUERIES_PER_THREAD);
+            final var unpooledLatency = measure99thPercentileLatencyNanos(unpooledDataSource, QUERIES_PER_THREAD);
+            final var pooledLatency = measure99thPercentileLatencyNanos(pooledDataSource, QUERIES_PER_THREAD);
+            log.info("p99 query latency: unpooled {} µs, pooled {} µs", unpooledLatency / 1000, pooledLatency / 1000);
+
+            // Verify that the pooled datasource improves the tail latency
+            assertThat(pooledLatency).isLessThan(unpooledLatency);
+        }
+    }
+
+    @SneakyThrows
+    private long measure99thPercentileLatencyNanos(final DataSource dataSource, final int queriesPerThread) {
+        final var jdbcTemplate = new JdbcTemplate(dataSource);
+        final var latencies = Collections.synchronizedList(new ArrayList<Long>());
+
+        final var tasks = new ArrayList<Callable<Void>>();
+        for (int thread = 0; thread < THREAD_COUNT; thread++) {
+            tasks.add(() -> {
+                for (int query = 0; query < queriesPerThread; query++) {
+                    final var startTime = System.nanoTime();
+                    jdbcTemplate.queryForObject("SELECT 1", Integer.class);
+                    latencies.add(System.nanoTime() - startTime);
+                }
+                return null;
+            });
+        }
+
+        final var executorService = Executors.newFixedThreadPool(THREAD_COUNT);
+        try {
+            for (final var future : executorService.invokeAll(tasks)) {
+                future.get();
+            }
+        } finally {
+            executorService.shutdown();
+        }
+
+        final List<Long> sortedLatencies = new ArrayList<>(latencies);
+        Collections.sort(sortedLatencies);
+        return sortedLatencies.get((int) Math.ceil(sortedLatencies.size() * 0.99) - 1);
+    }
+
+}
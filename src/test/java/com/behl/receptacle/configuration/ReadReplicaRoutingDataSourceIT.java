@@ -0,0 +1,114 @@
+package com.behl.receptacle.configuration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import java.sql.Connection;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.utility.DockerImageName;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.SneakyThrows;
+
+/**
+ * Verifies the routing of connections between the primary datasource and the configured read
+ * replicas. The first replica is pointed at the same MySQL server as the primary, and the second
+ * at an unreachable address, routing being observed through the connections acquired from each
+ * pool.
+ */
+@SpringBootTest(properties = "spring.datasource.hikari.transaction-isolation=TRANSACTION_READ_COMMITTED")
+@ActiveProfiles("test")
+public class ReadReplicaRoutingDataSourceIT {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private static MySQLContainer<?> mySQLContainer;
+
+    private static final String PRIMARY_POOL_NAME = "mysql-primary-pool";
+    private static final String REACHABLE_REPLICA_POOL_NAME = PRIMARY_POOL_NAME + "-replica-0";
+    private static final String UNREACHABLE_REPLICA_POOL_NAME = PRIMARY_POOL_NAME + "-replica-1";
+
+    static {
+        mySQLContainer = new MySQLContainer<>(DockerImageName.parse("mysql:8"));
+        mySQLContainer.start();
+    }
+
+    @DynamicPropertySource
+    static void properties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", mySQLContainer::getJdbcUrl);
+        registry.add("spring.datasource.username", mySQLContainer::getUsername);
+        registry.add("spring.datasource.password", mySQLContainer::getPassword);
+        registry.add("com.behl.receptacle.persistence.read-replicas.instances[0].url", mySQLContainer::getJdbcUrl);
+        registry.add("com.behl.receptacle.persistence.read-replicas.instances[0].username", mySQLContainer::getUsername);
+        registry.add("com.behl.receptacle.persistence.read-replicas.instances[0].password", mySQLContainer::getPassword);
+        registry.add("com.behl.receptacle.persistence.read-replicas.instances[1].url", () -> "jdbc:mysql://localhost:1/unreachable");
+    }
+
+    @Test
+    void shouldRouteReadOnlyTransactionsToReachableReplicaAndOthersToPrimary() {
+        // Execute read-only transactions, verifying that each succeeds although a replica is unreachable
+        for (int index = 0; index < 10; index++) {
+            assertThat(queryInTransaction(true)).isEqualTo(1);
+        }
+        assertThat(getAcquiredConnectionCount(UNREACHABLE_REPLICA_POOL_NAME)).isZero();
+
+        // Verify that, with the unreachable replica excluded, read-only transactions are routed to the reachable replica
+        final var primaryAcquisitions = getAcquiredConnectionCount(PRIMARY_POOL_NAME);
+        final var replicaAcquisitions = getAcquiredConnectionCount(REACHABLE_REPLICA_POOL_NAME);
+        for (int index = 0; index < 5; index++) {
+            assertThat(queryInTransaction(true)).isEqualTo(1);
+        }
+        assertThat(getAcquiredConnectionCount(REACHABLE_REPLICA_POOL_NAME)).isGreaterThanOrEqualTo(replicaAcquisitions + 5);
+        assertThat(getAcquiredConnectionCount(PRIMARY_POOL_NAME)).isEqualTo(primaryAcquisitions);
+
+        // Verify that read-write transactions are routed to the primary datasource
+        final var replicaAcquisitionsBeforeWrite = getAcquiredConnectionCount(REACHABLE_REPLICA_POOL_NAME);
+        assertThat(queryInTransaction(false)).isEqualTo(1);
+        assertThat(getAcquiredConnectionCount(PRIMARY_POOL_NAME)).isEqualTo(primaryAcquisitions + 1);
+        assertThat(getAcquiredConnectionCount(REACHABLE_REPLICA_POOL_NAME)).isLessThanOrEqualTo(replicaAcquisitionsBeforeWrite + 1);
+        assertThat(getAcquiredConnectionCount(UNREACHABLE_REPLICA_POOL_NAME)).isZero();
+    }
+
+    @Test
+    @SneakyThrows
+    void shouldReportConnectionDefaultsConfiguredOnPrimaryPool() {
+        // Verify that the defaults reported before a physical connection is obtained match the primary pool configuration
+        try (final var connection = dataSource.getConnection()) {
+            assertThat(connection.getAutoCommit()).isTrue();
+            assertThat(connection.getTransactionIsolation()).isEqualTo(Connection.TRANSACTION_READ_COMMITTED);
+
+            // Obtain the physical connection and verify that it matches the reported defaults
+            try (final var statement = connection.createStatement()) {
+                statement.execute("SELECT 1");
+            }
+            assertThat(connection.getAutoCommit()).isTrue();
+            assertThat(connection.getTransactionIsolation()).isEqualTo(Connection.TRANSACTION_READ_COMMITTED);
+        }
+    }
+
+    private Integer queryInTransaction(final boolean readOnly) {
+        final var transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(readOnly);
+        return transactionTemplate.execute(status -> new JdbcTemplate(dataSource).queryForObject("SELECT 1", Integer.class));
+    }
+
+    private long getAcquiredConnectionCount(final String poolName) {
+        final var acquireTimer = meterRegistry.find("hikaricp.connections.acquire").tag("pool", poolName).timer();
+        return acquireTimer != null ? acquireTimer.count() : 0;
+    }
+
+}
@@ -0,0 +1,109 @@
+package com.behl.receptacle.entity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.UUID;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.utility.DockerImageName;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import net.bytebuddy.utility.RandomString;
+
+/**
+ * Compares the insert rate and clustered index size of the users table when keyed by randomly
+ * generated version 4 UUIDs against time-ordered version 7 UUIDs. Being long running, the
+ * benchmark is executed only when the system property <code>benchmark</code> is set to
+ * <code>true</code>. The number of rows inserted per scheme defaults to 10 million and can be
+ * overridden through the system property <code>benchmark.rows</code>.
+ *
+ * <pre>
+ * {@code
+ * mvn verify -Dit.test=TimeOrderedUuidGeneratorBenchmarkIT -Dbenchmark=true -Dbenchmark.rows=10000000
+ * }
+ * </pre>
+ */
+@Slf4j
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class TimeOrderedUuidGeneratorBenchmarkIT {
+
+    private static final int BATCH_SIZE = 5000;
+    private static final int REPORTING_INTERVAL = 1_000_000;
+    private static final int COUNTRY_ID = 1;
+
+    @Test
+    void shouldInsertTimeOrderedIdsIntoSmallerIndexThanRandomIds() {
+        final var rowCount = Integer.getInteger("benchmark.rows", 10_000_000);
+        try (final var mySQLContainer = new MySQLContainer<>(DockerImageName.parse("mysql:8"));
+                final var dataSource = new HikariDataSource()) {
+            mySQLContainer.start();
+            
+            // Prepare a pooled datasource with batched statements rewritten into multi-row inserts
+            dataSource.setJdbcUrl(mySQLContainer.getJdbcUrl());
+            dataSource.setUsername(mySQLContainer.getUsername());
+            dataSource.setPassword(mySQLContainer.getPassword());
+            dataSource.addDataSourceProperty("rewriteBatchedStatements", true);
+            final var jdbcTemplate = new JdbcTemplate(dataSource);
+            
+            // Insert rows keyed by both the schemes into identically structured tables
+            final var randomIdResult = insertRows(jdbcTemplate, "users_random_id", rowCount, UUID::randomUUID);
+            final var timeOrderedIdResult = insertRows(jdbcTemplate, "users_time_ordered_id", rowCount, TimeOrderedUuidGenerator::generate);
+            log.info("Random IDs: {} rows/s, clustered index {} MB", randomIdResult.rowsPerSecond(), randomIdResult.indexSizeBytes() / (1024 * 1024));
+            log.info("Time-ordered IDs: {} rows/s, clustered index {} MB", timeOrderedIdResult.rowsPerSecond(), timeOrderedIdResult.indexSizeBytes() / (1024 * 1024));
+
+            // Verify that time-ordered IDs result in densely packed index pages
+            assertThat(timeOrderedIdResult.indexSizeBytes()).isLessThan(randomIdResult.indexSizeBytes());
+        }
+    }
+
+    private BenchmarkResult insertRows(final JdbcTemplate jdbcTemplate, final String tableName, final int rowCount, final Supplier<UUID> idGenerator) {
+        jdbcTemplate.execute("CREATE TABLE " + tableName + " (id BINARY(16) NOT NULL, first_name VARCHAR(255) NOT NULL, "
+                + "last_name VARCHAR(255), country_id INTEGER, PRIMARY KEY (id))");
+        final var insertQuery = "INSERT INTO " + tableName + " (id, first_name, last_name, country_id) VALUES (?, ?, ?, ?)";
+        final var firstName = RandomString.make(10);
+        final var lastName = RandomString.make(10);
+
+        final var startTime = System.nanoTime();
+        var intervalStartTime = startTime;
+        for (int insertedCount = 0; insertedCount < rowCount;) {
+            final var batchArguments = new ArrayList<Object[]>(BATCH_SIZE);
+            for (int index = 0; index < BATCH_SIZE && insertedCount + index < rowCount; index++) {
+                batchArguments.add(new Object[] { toBytes(idGenerator.get()), firstName, lastName, COUNTRY_ID });
+            }
+            jdbcTemplate.batchUpdate(insertQuery, batchArguments);
+            insertedCount += batchArguments.size();
+
+            if (insertedCount % REPORTING_INTERVAL == 0) {
+                final var currentTime = System.nanoTime();
+                log.info("{}: {} rows inserted, {} rows/s over the last interval", tableName, insertedCount,
+                        rowsPerSecond(REPORTING_INTERVAL, currentTime - intervalStartTime));
+                intervalStartTime = currentTime;
+            }
+        }
+        final var rowsPerSecond = rowsPerSecond(rowCount, System.nanoTime() - startTime);
+
+        jdbcTemplate.execute("ANALYZE TABLE " + tableName);
+        final var indexSizeBytes = jdbcTemplate.queryForObject(
+                "SELECT data_length FROM information_schema.tables WHERE table_schema = DATABASE() AND table_name = ?", Long.class, tableName);
+        return new BenchmarkResult(rowsPerSecond, indexSizeBytes);
+    }
+
+    private long rowsPerSecond(final long rowCount, final long elapsedNanos) {
+        return rowCount * 1_000_000_000L / elapsedNanos;
+    }
+
+    private byte[] toBytes(final UUID uuid) {
+        return ByteBuffer.allocate(16).putLong(uuid.getMostSignificantBits()).putLong(uuid.getLeastSignificantBits()).array();
+    }
+
+    /**
+     * @param indexSizeBytes Size of the clustered primary key index, i.e the table data, in bytes.
+     */
+    private record BenchmarkResult(long rowsPerSecond, long indexSizeBytes) {
+    }
+
+}
@@ -0,0 +1,101 @@
+package com.behl.receptacle.listener;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import com.behl.receptacle.dto.CustomerDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import net.bytebuddy.utility.RandomString;
+
+/**
+ * Compares the throughput and allocation rate of deserializing customer registered event messages
+ * through an {@link ObjectMapper} created per message, as previously done by the
+ * {@link CustomerRegisteredEventListener}, against a shared {@link ObjectReader}. Being long
+ * running, the benchmark is executed only when the system property <code>benchmark</code> is set
+ * to <code>true</code>. The bytes allocated per message are reported as
+ * <code>gc.alloc.rate.norm</code>.
+ *
+ * <pre>
+ * {@code
+ * mvn verify -Dit.test=CustomerDeserializationBenchmarkIT -Dbenchmark=true
+ * }
+ * </pre>
+ */
+@Slf4j
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class CustomerDeserializationBenchmarkIT {
+
+    private String message;
+    private ObjectReader customerReader;
+
+    @Setup
+    @SneakyThrows
+    public void setUp() {
+        final var customerDto = new CustomerDto();
+        customerDto.setId(RandomString.make(10));
+        customerDto.setFirstName(RandomString.make(10));
+        customerDto.setLastName(RandomString.make(10));
+        customerDto.setEmailId(RandomString.make() + "@domain.com");
+        message = new ObjectMapper().writeValueAsString(customerDto);
+        customerReader = new ObjectMapper().readerFor(CustomerDto.class);
+    }
+
+    @Benchmark
+    public CustomerDto objectMapperPerMessage() throws Exception {
+        return new ObjectMapper().readValue(message, CustomerDto.class);
+    }
+
+    @Benchmark
+    public CustomerDto sharedObjectReader() throws Exception {
+        return customerReader.readValue(message);
+    }
+
+    @Test
+    @SneakyThrows
+    void shouldDeserializeFasterThroughSharedObjectReader() {
+        // Execute the benchmarks in a forked JVM with the allocation profiler attached
+        final var options = new OptionsBuilder()
+            .include(getClass().getName())
+            .addProfiler(GCProfiler.class)
+            .build();
+        final var results = new Runner(options).run();
+
+        // Log the throughput and allocation per message of each approach
+        final var throughputs = new HashMap<String, Double>();
+        results.forEach(result -> {
+            final var benchmark = result.getPrimaryResult().getLabel();
+            final var throughput = result.getPrimaryResult().getScore();
+            final var allocation = result.getSecondaryResults().get("gc.alloc.rate.norm").getScore();
+            log.info("{}: {} messages/s, {} bytes allocated per message", benchmark, Math.round(throughput), Math.round(allocation));
+            throughputs.put(benchmark, throughput);
+        });
+
+        // Verify that the shared reader deserializes more messages per second
+        assertThat(throughputs.get("sharedObjectReader")).isGreaterThan(throughputs.get("objectMapperPerMessage"));
+    }
+
+}
@@ -0,0 +1,211 @@
+package com.behl.receptacle.listener;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.UUID;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.flyway.FlywayAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.redpanda.RedpandaContainer;
+import org.testcontainers.utility.DockerImageName;
+import com.behl.receptacle.KafkaTestUtil;
+import com.behl.receptacle.dto.CustomerDto;
+import com.behl.receptacle.serialization.AvroSerializer;
+import com.behl.receptacle.serialization.LocalSchemaRegistry;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.SneakyThrows;
+import net.bytebuddy.utility.RandomString;
+
+/**
+ * Verifies the relay of customer registered events encoded with Avro, the customer registered
+ * event topic and its retry topic being configured under
+ * <code>com.behl.receptacle.kafka.encoding.avro-topics</code>. An older version of the customer
+ * schema, lacking the email of the customer, is registered from the test resources for messages
+ * written with it to be resolved against the current one.
+ */
+@SpringBootTest(properties = {
+        "com.behl.receptacle.kafka.encoding.schema-location=classpath*:avro/**/*.avsc",
+        "spring.kafka.consumer.auto-offset-reset=earliest" })
+@ActiveProfiles("test")
+@EnableAutoConfiguration(exclude = FlywayAutoConfiguration.class)
+public class CustomerRegisteredEventAvroListenerIT {
+
+    @Autowired
+    private KafkaTemplate<String, Object> kafkaTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private static RedpandaContainer kafkaContainer;
+
+    private static final String CUSTOMER_REGISTERED_EVENT_TOPIC = "avro-customer-registered-event-" + RandomString.make(5);
+    private static final String CUSTOMER_REGISTERED_EVENT_RETRY_TOPIC = "avro-customer-registered-event-retry-" + RandomString.make(5);
+    private static final String INITIATE_RISK_ASSESSMENT_TOPIC = "avro-customer-account-risk-assessment-" + RandomString.make(5);
+    private static final byte[] SINGLE_OBJECT_ENCODING_MARKER = { (byte) 0xC3, (byte) 0x01 };
+
+    static {
+        kafkaContainer = new RedpandaContainer(DockerImageName.parse("docker.redpanda.com/redpandadata/redpanda:v22.2.13"));
+        kafkaContainer.start();
+    }
+
+    @DynamicPropertySource
+    static void properties(DynamicPropertyRegistry registry) {
+        registry.add("spring.kafka.bootstrap-servers", kafkaContainer::getBootstrapServers);
+        registry.add("com.behl.receptacle.kafka.topic-name.customer-registered-event", () -> CUSTOMER_REGISTERED_EVENT_TOPIC);
+        registry.add("com.behl.receptacle.kafka.topic-name.customer-registered-event-retry", () -> CUSTOMER_REGISTERED_EVENT_RETRY_TOPIC);
+        registry.add("com.behl.receptacle.kafka.topic-name.customer-account-risk-assessment", () -> INITIATE_RISK_ASSESSMENT_TOPIC);
+        registry.add("com.behl.receptacle.kafka.encoding.avro-topics[0]", () -> CUSTOMER_REGISTERED_EVENT_TOPIC);
+        registry.add("com.behl.receptacle.kafka.encoding.avro-topics[1]", () -> CUSTOMER_REGISTERED_EVENT_RETRY_TOPIC);
+    }
+
+    @Test
+    @SneakyThrows
+    void shouldRelayCustomerRegisteredEventEncodedWithAvro() {
+        // Send a message to customer registered event topic
+        final var customerDto = createCustomer();
+        kafkaTemplate.send(CUSTOMER_REGISTERED_EVENT_TOPIC, customerDto.getId(), customerDto).get();
+
+        // Verify that the message is published with the Avro single-object encoding
+        try (final var eventConsumer = createByteArrayConsumer(CUSTOMER_REGISTERED_EVENT_TOPIC)) {
+            final var publishedEvent = pollForKey(eventConsumer, customerDto.getId(), Duration.ofSeconds(10));
+            assertThat(publishedEvent).isNotNull();
+            assertThat(publishedEvent.value()).startsWith(SINGLE_OBJECT_ENCODING_MARKER);
+        }
+
+        // Verify that the command to initiate risk assessment carries every field of the customer
+        final var command = awaitCommand(customerDto.getId());
+        assertThat(command).usingRecursiveComparison().isEqualTo(customerDto);
+    }
+
+    @Test
+    @SneakyThrows
+    void shouldRelayCustomerRegisteredEventWrittenWithOlderSchemaVersion() {
+        // Send a message written with the older schema version, lacking the email of the customer
+        final var customerDto = createCustomer();
+        final var olderSchema = LocalSchemaRegistry.parse(new ClassPathResource("avro/legacy/customer-v0.avsc"));
+        final var message = new AvroSerializer<CustomerDto>(olderSchema).serialize(CUSTOMER_REGISTERED_EVENT_TOPIC, customerDto);
+        try (final var producer = createByteArrayProducer()) {
+            producer.send(new ProducerRecord<>(CUSTOMER_REGISTERED_EVENT_TOPIC, customerDto.getId(), message)).get();
+        }
+
+        // Verify that the message is resolved against the current schema, leaving the email of the customer unset
+        final var command = awaitCommand(customerDto.getId());
+        assertThat(command.getId()).isEqualTo(customerDto.getId());
+        assertThat(command.getFirstName()).isEqualTo(customerDto.getFirstName());
+        assertThat(command.getLastName()).isEqualTo(customerDto.getLastName());
+        assertThat(command.getEmailId()).isNull();
+    }
+
+    @Test
+    @SneakyThrows
+    void shouldPublishUndecodableCustomerRegisteredEventToRetryTopic() {
+        // Send a message which cannot be decoded between two valid ones
+        final var precedingCustomer = createCustomer();
+        final var followingCustomer = createCustomer();
+        final var malformedKey = RandomString.make(10);
+        final var malformedMessage = "not-an-avro-message".getBytes(StandardCharsets.UTF_8);
+        final var deadLetterCount = meterRegistry.counter("customer.registered.event.dead.letters").count();
+        kafkaTemplate.send(CUSTOMER_REGISTERED_EVENT_TOPIC, precedingCustomer.getId(), precedingCustomer).get();
+        try (final var producer = createByteArrayProducer()) {
+            producer.send(new ProducerRecord<>(CUSTOMER_REGISTERED_EVENT_TOPIC, malformedKey, malformedMessage)).get();
+        }
+        kafkaTemplate.send(CUSTOMER_REGISTERED_EVENT_TOPIC, followingCustomer.getId(), followingCustomer).get();
+
+        // Verify that the message is published to the retry topic as it was received
+        try (final var retryConsumer = createByteArrayConsumer(CUSTOMER_REGISTERED_EVENT_RETRY_TOPIC)) {
+            final var retriedEvent = pollForKey(retryConsumer, malformedKey, Duration.ofSeconds(15));
+            assertThat(retriedEvent).isNotNull();
+            assertThat(retriedEvent.value()).isEqualTo(malformedMessage);
+        }
+
+        // Verify that the valid messages are relayed, and that the malformed one ends up on the dead-letter topic
+        assertThat(awaitCommand(precedingCustomer.getId()).getId()).isEqualTo(precedingCustomer.getId());
+        assertThat(awaitCommand(followingCustomer.getId()).getId()).isEqualTo(followingCustomer.getId());
+        final var deadline = System.currentTimeMillis() + 15000;
+        while (meterRegistry.counter("customer.registered.event.dead.letters").count() == deadLetterCount && System.currentTimeMillis() < deadline) {
+            Thread.sleep(500);
+        }
+        assertThat(meterRegistry.counter("customer.registered.event.dead.letters").count()).isEqualTo(deadLetterCount + 1);
+    }
+
+    private CustomerDto createCustomer() {
+        final var customerDto = new CustomerDto();
+        customerDto.setId(RandomString.make(10));
+        customerDto.setFirstName(RandomString.make(10));
+        customerDto.setLastName(RandomString.make(10));
+        customerDto.setEmailId(RandomString.make() + "@domain.com");
+        return customerDto;
+    }
+
+    /**
+     * Waits for the command to initiate the risk assessment of the provided customer, failing if it
+     * is not received in time.
+     */
+    @SneakyThrows
+    private CustomerDto awaitCommand(final String customerId) {
+        try (final var kafkaConsumer = KafkaTestUtil.getConsumer(kafkaContainer.getBootstrapServers(), INITIATE_RISK_ASSESSMENT_TOPIC)) {
+            final var deadline = System.currentTimeMillis() + 15000;
+            while (System.currentTimeMillis() < deadline) {
+                for (final var receivedMessage : kafkaConsumer.poll(Duration.ofMillis(500))) {
+                    if (customerId.equals(receivedMessage.key())) {
+                        return objectMapper.readValue(receivedMessage.value().toString(), CustomerDto.class);
+                    }
+                }
+            }
+        }
+        throw new AssertionError("No risk assessment command received for customer " + customerId);
+    }
+
+    private ConsumerRecord<String, byte[]> pollForKey(final KafkaConsumer<String, byte[]> consumer, final String key, final Duration duration) {
+        final var deadline = System.currentTimeMillis() + duration.toMillis();
+        while (System.currentTimeMillis() < deadline) {
+            for (final var receivedMessage : consumer.poll(Duration.ofMillis(500))) {
+                if (key.equals(receivedMessage.key())) {
+                    return receivedMessage;
+                }
+            }
+        }
+        return null;
+    }
+
+    private KafkaConsumer<String, byte[]> createByteArrayConsumer(final String topicName) {
+        final var properties = new HashMap<String, Object>();
+        properties.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, kafkaContainer.getBootstrapServers());
+        properties.put(ConsumerConfig.GROUP_ID_CONFIG, UUID.randomUUID().toString());
+        properties.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        final var consumer = new KafkaConsumer<>(properties, new StringDeserializer(), new ByteArrayDeserializer());
+        consumer.subscribe(List.of(topicName));
+        return consumer;
+    }
+
+    private KafkaProducer<String, byte[]> createByteArrayProducer() {
+        final var properties = new HashMap<String, Object>();
+        properties.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, kafkaContainer.getBootstrapServers());
+        return new KafkaProducer<>(properties, new StringSerializer(), new ByteArraySerializer());
+    }
+
+}
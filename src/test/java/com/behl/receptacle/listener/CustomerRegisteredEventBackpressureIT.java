@@ -0,0 +1,157 @@
+package com.behl.receptacle.listener;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.flyway.FlywayAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.redpanda.RedpandaContainer;
+import org.testcontainers.utility.DockerImageName;
+import com.behl.receptacle.dto.CustomerDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.SneakyThrows;
+import net.bytebuddy.utility.RandomString;
+
+/**
+ * Verifies that, with backpressure enabled, the consumption of customer registered events is paused
+ * while the broker is too slow to acknowledge the risk assessment commands, and resumed once they
+ * drain. The produce throughput of each client is throttled by the broker, for a batch of large
+ * events to be consumed much faster than their commands can be acknowledged.
+ */
+@SpringBootTest(properties = {
+        "com.behl.receptacle.kafka.listener.concurrency=1",
+        "com.behl.receptacle.kafka.listener.processing-parallelism=1",
+        "com.behl.receptacle.kafka.listener.backpressure.enabled=true",
+        "com.behl.receptacle.kafka.listener.backpressure.in-flight-high-watermark=" + CustomerRegisteredEventBackpressureIT.IN_FLIGHT_HIGH_WATERMARK,
+        "com.behl.receptacle.kafka.listener.backpressure.in-flight-low-watermark=10",
+        "spring.kafka.consumer.auto-offset-reset=earliest" })
+@ActiveProfiles("test")
+@EnableAutoConfiguration(exclude = FlywayAutoConfiguration.class)
+public class CustomerRegisteredEventBackpressureIT {
+
+    static final int IN_FLIGHT_HIGH_WATERMARK = 50;
+    private static final int EVENT_COUNT = 500;
+    private static final int NAME_LENGTH = 10000;
+    private static final String PRODUCE_BYTE_RATE = String.valueOf(1024 * 1024);
+
+    @Autowired
+    private KafkaTemplate<String, String> outboxKafkaTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private static RedpandaContainer kafkaContainer;
+
+    private static final String CUSTOMER_REGISTERED_EVENT_TOPIC = "backpressure-customer-registered-event-" + RandomString.make(5);
+    private static final String CUSTOMER_REGISTERED_EVENT_RETRY_TOPIC = "backpressure-customer-registered-event-retry-" + RandomString.make(5);
+    private static final String INITIATE_RISK_ASSESSMENT_TOPIC = "backpressure-customer-account-risk-assessment-" + RandomString.make(5);
+
+    static {
+        kafkaContainer = new RedpandaContainer(DockerImageName.parse("docker.redpanda.com/redpandadata/redpanda:v22.2.13"));
+        kafkaContainer.start();
+    }
+
+    @DynamicPropertySource
+    static void properties(DynamicPropertyRegistry registry) {
+        registry.add("spring.kafka.bootstrap-servers", kafkaContainer::getBootstrapServers);
+        registry.add("com.behl.receptacle.kafka.topic-name.customer-registered-event", () -> CUSTOMER_REGISTERED_EVENT_TOPIC);
+        registry.add("com.behl.receptacle.kafka.topic-name.customer-registered-event-retry", () -> CUSTOMER_REGISTERED_EVENT_RETRY_TOPIC);
+        registry.add("com.behl.receptacle.kafka.topic-name.customer-account-risk-assessment", () -> INITIATE_RISK_ASSESSMENT_TOPIC);
+    }
+
+    @Test
+    @SneakyThrows
+    void shouldPauseConsumptionWhileCommandsCannotBeAcknowledgedAndResumeOnceDrained() {
+        // Throttle the produce throughput of every client of the broker
+        final var throttleResult = kafkaContainer.execInContainer("rpk", "cluster", "config", "set", "target_quota_byte_rate", PRODUCE_BYTE_RATE);
+        assertThat(throttleResult.getExitCode()).as(throttleResult.getStderr()).isZero();
+
+        // Sample the metrics of the backpressure controller while the events are processed
+        final var pauseCount = meterRegistry.counter("customer.registered.event.consumption.pauses").count();
+        final var resumeCount = meterRegistry.counter("customer.registered.event.consumption.resumes").count();
+        final var maxInFlightSends = new AtomicInteger();
+        final var pausedObserved = new AtomicBoolean();
+        final var sampler = Executors.newSingleThreadScheduledExecutor();
+        sampler.scheduleAtFixedRate(() -> {
+            maxInFlightSends.accumulateAndGet((int) meterRegistry.get("customer.registered.event.sends.in.flight").gauge().value(), Math::max);
+            if (meterRegistry.get("customer.registered.event.consumption.paused").gauge().value() == 1) {
+                pausedObserved.set(true);
+            }
+        }, 0, 5, TimeUnit.MILLISECONDS);
+
+        // Send large events to customer registered event topic
+        final var customerIds = new HashSet<String>();
+        try {
+            for (int index = 0; index < EVENT_COUNT; index++) {
+                final var customerDto = new CustomerDto();
+                customerDto.setId(RandomString.make(10));
+                customerDto.setFirstName(RandomString.make(NAME_LENGTH));
+                customerDto.setLastName(RandomString.make(10));
+                customerDto.setEmailId(RandomString.make() + "@domain.com");
+                customerIds.add(customerDto.getId());
+                outboxKafkaTemplate.send(CUSTOMER_REGISTERED_EVENT_TOPIC, customerDto.getId(), objectMapper.writeValueAsString(customerDto));
+            }
+            outboxKafkaTemplate.flush();
+
+            // Verify that the command of every event is relayed in spite of the throttling
+            try (final var riskAssessmentConsumer = createConsumer(INITIATE_RISK_ASSESSMENT_TOPIC)) {
+                final var receivedCustomerIds = new HashSet<String>();
+                final var deadline = System.currentTimeMillis() + 120000;
+                while (!receivedCustomerIds.containsAll(customerIds) && System.currentTimeMillis() < deadline) {
+                    riskAssessmentConsumer.poll(Duration.ofMillis(500)).forEach(receivedMessage -> receivedCustomerIds.add(receivedMessage.key()));
+                }
+                assertThat(receivedCustomerIds).containsAll(customerIds);
+            }
+        } finally {
+            sampler.shutdownNow();
+        }
+
+        // Verify that consumption was paused, bounding the commands in flight by the high watermark
+        assertThat(pausedObserved).isTrue();
+        assertThat(maxInFlightSends.get()).isPositive().isLessThanOrEqualTo(IN_FLIGHT_HIGH_WATERMARK);
+        assertThat(meterRegistry.counter("customer.registered.event.consumption.pauses").count()).isGreaterThan(pauseCount);
+
+        // Verify that consumption was resumed as many times as it was paused, once the commands drained
+        final var deadline = System.currentTimeMillis() + 15000;
+        while (meterRegistry.get("customer.registered.event.consumption.paused").gauge().value() == 1 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(500);
+        }
+        assertThat(meterRegistry.get("customer.registered.event.consumption.paused").gauge().value()).isZero();
+        assertThat(meterRegistry.get("customer.registered.event.sends.in.flight").gauge().value()).isZero();
+        assertThat(meterRegistry.counter("customer.registered.event.consumption.resumes").count() - resumeCount)
+                .isPositive()
+                .isEqualTo(meterRegistry.counter("customer.registered.event.consumption.pauses").count() - pauseCount);
+    }
+
+    private KafkaConsumer<String, String> createConsumer(final String topicName) {
+        final var properties = new HashMap<String, Object>();
+        properties.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, kafkaContainer.getBootstrapServers());
+        properties.put(ConsumerConfig.GROUP_ID_CONFIG, UUID.randomUUID().toString());
+        properties.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        final var consumer = new KafkaConsumer<>(properties, new StringDeserializer(), new StringDeserializer());
+        consumer.subscribe(List.of(topicName));
+        return consumer;
+    }
+
+}
@@ -0,0 +1,177 @@
+package com.behl.receptacle.listener;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.clients.producer.ProducerInterceptor;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.flyway.FlywayAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.redpanda.RedpandaContainer;
+import org.testcontainers.utility.DockerImageName;
+import com.behl.receptacle.ContainerizedIntegrationApplication;
+import com.behl.receptacle.dto.CustomerDto;
+import lombok.SneakyThrows;
+import net.bytebuddy.utility.RandomString;
+
+/**
+ * Verifies that, with deduplication enabled, an event whose consumer stops before its command is
+ * acknowledged is relayed by the consumer taking over its partition, instead of being skipped as a
+ * duplicate. The first application blocks in the send of the command until it is evicted from the
+ * consumer group for exceeding its maximum poll interval, simulating a consumer crashing between
+ * the deduplication check and the acknowledgement of the command.
+ */
+public class CustomerRegisteredEventDeduplicationCrashIT {
+
+    private static RedpandaContainer kafkaContainer;
+    private static GenericContainer<?> redisContainer;
+    private static int redisPort = 6379;
+    private static String redisPassword = RandomString.make(10);
+
+    private static final String CUSTOMER_REGISTERED_EVENT_TOPIC = "crash-customer-registered-event-" + RandomString.make(5);
+    private static final String INITIATE_RISK_ASSESSMENT_TOPIC = "crash-customer-account-risk-assessment-" + RandomString.make(5);
+
+    static {
+        kafkaContainer = new RedpandaContainer(DockerImageName.parse("docker.redpanda.com/redpandadata/redpanda:v22.2.13"));
+        kafkaContainer.start();
+
+        redisContainer = new GenericContainer<>(DockerImageName.parse("redis:7.0.11-alpine3.18"))
+            .withExposedPorts(redisPort).withCommand("redis-server", "--requirepass", redisPassword);
+        redisContainer.start();
+    }
+
+    @Test
+    @SneakyThrows
+    void shouldRelayEventOfConsumerStoppedBeforeCommandIsAcknowledged() {
+        BlockingProducerInterceptor.blockedTopic = INITIATE_RISK_ASSESSMENT_TOPIC;
+        final var customerDto = new CustomerDto();
+        customerDto.setId(RandomString.make(10));
+        customerDto.setFirstName(RandomString.make(10));
+        customerDto.setLastName(RandomString.make(10));
+        customerDto.setEmailId(RandomString.make() + "@domain.com");
+
+        // Start an application whose sends to the risk assessment topic block, and publish the event
+        final var crashingApplication = startApplication(
+                "--spring.kafka.producer.properties.interceptor.classes=" + BlockingProducerInterceptor.class.getName(),
+                "--spring.kafka.consumer.properties.max.poll.interval.ms=10000");
+        ConfigurableApplicationContext recoveringApplication = null;
+        try (final var riskAssessmentConsumer = createConsumer(INITIATE_RISK_ASSESSMENT_TOPIC)) {
+            @SuppressWarnings("unchecked")
+            final KafkaTemplate<String, Object> kafkaTemplate = crashingApplication.getBean("kafkaTemplate", KafkaTemplate.class);
+            kafkaTemplate.send(CUSTOMER_REGISTERED_EVENT_TOPIC, customerDto.getId(), customerDto).get();
+
+            // Wait for the command of the event to be sent, the first application never receiving its acknowledgement
+            assertThat(BlockingProducerInterceptor.sendBlocked.await(30, TimeUnit.SECONDS)).isTrue();
+
+            // Start a second application, taking over the partition once the first one is evicted from the consumer group
+            recoveringApplication = startApplication();
+
+            // Verify that the event is relayed exactly once, instead of being skipped as a duplicate
+            final var receivedValues = new ArrayList<String>();
+            final var deadline = System.currentTimeMillis() + 60000;
+            while (count(receivedValues, customerDto.getId()) == 0 && System.currentTimeMillis() < deadline) {
+                riskAssessmentConsumer.poll(Duration.ofMillis(500)).forEach(receivedMessage -> receivedValues.add(receivedMessage.value()));
+            }
+            final var quietPeriodEnd = System.currentTimeMillis() + 3000;
+            while (System.currentTimeMillis() < quietPeriodEnd) {
+                riskAssessmentConsumer.poll(Duration.ofMillis(500)).forEach(receivedMessage -> receivedValues.add(receivedMessage.value()));
+            }
+            assertThat(count(receivedValues, customerDto.getId())).isEqualTo(1);
+        } finally {
+            if (recoveringApplication != null) {
+                recoveringApplication.close();
+            }
+            crashingApplication.close();
+            BlockingProducerInterceptor.crashed.countDown();
+        }
+    }
+
+    /**
+     * Starts the application with deduplication enabled, consuming and producing on the topics of
+     * this test along with the provided additional arguments.
+     */
+    private ConfigurableApplicationContext startApplication(final String... additionalArguments) {
+        // Passed as arguments, since default properties are overridden by the .yaml configuration files
+        final var arguments = new ArrayList<>(List.of(
+                "--spring.autoconfigure.exclude=" + FlywayAutoConfiguration.class.getName(),
+                "--server.port=0",
+                "--spring.kafka.bootstrap-servers=" + kafkaContainer.getBootstrapServers(),
+                "--spring.kafka.consumer.auto-offset-reset=earliest",
+                "--spring.kafka.consumer.properties.session.timeout.ms=6000",
+                "--spring.data.redis.host=" + redisContainer.getHost(),
+                "--spring.data.redis.port=" + redisContainer.getMappedPort(redisPort),
+                "--spring.data.redis.password=" + redisPassword,
+                "--com.behl.receptacle.kafka.topic-name.customer-registered-event=" + CUSTOMER_REGISTERED_EVENT_TOPIC,
+                "--com.behl.receptacle.kafka.topic-name.customer-account-risk-assessment=" + INITIATE_RISK_ASSESSMENT_TOPIC,
+                "--com.behl.receptacle.kafka.listener.deduplication.enabled=true",
+                "--com.behl.receptacle.kafka.listener.deduplication.key=customer-id"));
+        arguments.addAll(List.of(additionalArguments));
+        return new SpringApplicationBuilder(ContainerizedIntegrationApplication.class).profiles("test").run(arguments.toArray(String[]::new));
+    }
+
+    private long count(final List<String> receivedValues, final String customerId) {
+        return receivedValues.stream().filter(value -> value.contains("\"" + customerId + "\"")).count();
+    }
+
+    private KafkaConsumer<String, String> createConsumer(final String topicName) {
+        final var properties = new HashMap<String, Object>();
+        properties.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, kafkaContainer.getBootstrapServers());
+        properties.put(ConsumerConfig.GROUP_ID_CONFIG, UUID.randomUUID().toString());
+        properties.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        final var consumer = new KafkaConsumer<>(properties, new StringDeserializer(), new StringDeserializer());
+        consumer.subscribe(List.of(topicName));
+        return consumer;
+    }
+
+    /**
+     * Blocks the sends to the configured topic until the test releases them, signalling once the
+     * first of them is blocked.
+     */
+    public static class BlockingProducerInterceptor implements ProducerInterceptor<Object, Object> {
+
+        static volatile String blockedTopic;
+        static final CountDownLatch sendBlocked = new CountDownLatch(1);
+        static final CountDownLatch crashed = new CountDownLatch(1);
+
+        @Override
+        public ProducerRecord<Object, Object> onSend(final ProducerRecord<Object, Object> record) {
+            if (record.topic().equals(blockedTopic)) {
+                sendBlocked.countDown();
+                try {
+                    crashed.await();
+                } catch (final InterruptedException exception) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return record;
+        }
+
+        @Override
+        public void onAcknowledgement(final RecordMetadata metadata, final Exception exception) {
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public void configure(final Map<String, ?> configs) {
+        }
+
+    }
+
+}
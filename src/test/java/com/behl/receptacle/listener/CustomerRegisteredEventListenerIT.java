@@ -2,7 +2,15 @@ package com.behl.receptacle.listener;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import org.junit.jupiter.api.MethodOrderer.OrderAnnotation;
+import org.junit.jupiter.api.Order;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
 import org.springframework.boot.autoconfigure.flyway.FlywayAutoConfiguration;
@@ -17,11 +25,14 @@ import org.testcontainers.utility.DockerImageName;
 import com.behl.receptacle.KafkaTestUtil;
 import com.behl.receptacle.configuration.KafkaConfiguration;
 import com.behl.receptacle.dto.CustomerDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.SneakyThrows;
 import net.bytebuddy.utility.RandomString;
 
 @SpringBootTest
 @ActiveProfiles("test")
+@TestMethodOrder(OrderAnnotation.class)
 @EnableConfigurationProperties(KafkaConfiguration.class)
 @EnableAutoConfiguration(exclude = FlywayAutoConfiguration.class)
 public class CustomerRegisteredEventListenerIT {
@@ -29,9 +40,18 @@ public class CustomerRegisteredEventListenerIT {
     @Autowired
     private KafkaTemplate<String, Object> kafkaTemplate;
 
+    @Autowired
+    private KafkaTemplate<String, String> outboxKafkaTemplate;
+
     @Autowired
     private KafkaConfiguration kafkaConfiguration;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
     private static RedpandaContainer kafkaContainer;
 
     static {
@@ -45,6 +65,7 @@ public class CustomerRegisteredEventListenerIT {
     }
 
     @Test
+    @Order(1)
     @SneakyThrows
     void shouldConsumeCustomerRegisteredEventAndInitiateRiskAssessment() {
         // Fetch the topic names defined in the configuration file
@@ -66,6 +87,7 @@ public class CustomerRegisteredEventListenerIT {
         final var receivedMessages = kafkaConsumer.poll(Duration.ofMillis(5000));
         assertThat(receivedMessages.count()).isEqualTo(1);
         receivedMessages.forEach(receivedMessage -> {
+            assertThat(receivedMessage.key()).isEqualTo(customerDto.getId());
             String receivedValue = receivedMessage.value().toString();
             assertThat(receivedValue).contains(customerDto.getId());
             assertThat(receivedValue).contains(customerDto.getFirstName());
@@ -73,5 +95,174 @@ public class CustomerRegisteredEventListenerIT {
             assertThat(receivedValue).contains(customerDto.getEmailId());
         });
     }
+    
+    @Test
+    @Order(2)
+    void shouldConsumeCustomerRegisteredEventsInBatchesAndInitiateRiskAssessmentForEach() {
+        // Fetch the topic names defined in the configuration file
+        final var customerRegisteredEventTopic = kafkaConfiguration.getCustomerRegisteredEvent();
+        final var initiateRiskAssessmentTopic = kafkaConfiguration.getCustomerAccountRiskAssessment();
+        
+        // Send multiple messages to customer registered event topic
+        final var customerIds = new HashSet<String>();
+        for (int index = 0; index < 200; index++) {
+            final var customerDto = new CustomerDto();
+            customerDto.setId(RandomString.make(10));
+            customerDto.setFirstName(RandomString.make(10));
+            customerDto.setLastName(RandomString.make(10));
+            customerDto.setEmailId(RandomString.make() + "@domain.com");
+            customerIds.add(customerDto.getId());
+            kafkaTemplate.send(customerRegisteredEventTopic, customerDto);
+        }
+        
+        // Verify that a message is received on the initiate risk assessment topic for every customer
+        final var kafkaConsumer = KafkaTestUtil.getConsumer(kafkaContainer.getBootstrapServers(), initiateRiskAssessmentTopic);
+        final var receivedValues = new ArrayList<String>();
+        final var deadline = System.currentTimeMillis() + 15000;
+        while (receivedValues.size() < customerIds.size() && System.currentTimeMillis() < deadline) {
+            kafkaConsumer.poll(Duration.ofMillis(500)).forEach(receivedMessage -> receivedValues.add(receivedMessage.value().toString()));
+        }
+        assertThat(customerIds).allSatisfy(customerId -> assertThat(receivedValues).anyMatch(value -> value.contains(customerId)));
+    }
+    
+    @Test
+    @Order(3)
+    void shouldInitiateRiskAssessmentInOrderOfEventsSharingTheSameKey() {
+        // Fetch the topic names defined in the configuration file
+        final var customerRegisteredEventTopic = kafkaConfiguration.getCustomerRegisteredEvent();
+        final var initiateRiskAssessmentTopic = kafkaConfiguration.getCustomerAccountRiskAssessment();
+        
+        // Send interleaved messages for multiple keys to customer registered event topic
+        final var keys = List.of(RandomString.make(10), RandomString.make(10), RandomString.make(10));
+        final var sentCustomerIds = new HashMap<String, List<String>>();
+        for (int index = 0; index < 50; index++) {
+            for (final var key : keys) {
+                final var customerDto = new CustomerDto();
+                customerDto.setId(key + "-" + index);
+                customerDto.setFirstName(RandomString.make(10));
+                customerDto.setLastName(RandomString.make(10));
+                customerDto.setEmailId(RandomString.make() + "@domain.com");
+                sentCustomerIds.computeIfAbsent(key, ignored -> new ArrayList<>()).add(customerDto.getId());
+                kafkaTemplate.send(customerRegisteredEventTopic, key, customerDto);
+            }
+        }
+        
+        // Consume the messages received on the initiate risk assessment topic
+        final var kafkaConsumer = KafkaTestUtil.getConsumer(kafkaContainer.getBootstrapServers(), initiateRiskAssessmentTopic);
+        final var receivedValues = new ArrayList<String>();
+        final var expectedCount = keys.size() * 50;
+        final var deadline = System.currentTimeMillis() + 15000;
+        while (receivedValues.stream().filter(value -> keys.stream().anyMatch(value::contains)).count() < expectedCount
+                && System.currentTimeMillis() < deadline) {
+            kafkaConsumer.poll(Duration.ofMillis(500)).forEach(receivedMessage -> receivedValues.add(receivedMessage.value().toString()));
+        }
+        
+        // Verify that the commands for each key are received in the order of the corresponding events
+        keys.forEach(key -> {
+            final var receivedCustomerIds = sentCustomerIds.get(key).stream()
+                .sorted(Comparator.comparingInt(customerId -> indexOf(receivedValues, customerId)))
+                .toList();
+            assertThat(receivedCustomerIds).allSatisfy(customerId -> assertThat(indexOf(receivedValues, customerId)).isNotNegative());
+            assertThat(receivedCustomerIds).containsExactlyElementsOf(sentCustomerIds.get(key));
+        });
+    }
+    
+    @Test
+    @Order(4)
+    void shouldSendUnprocessableEventToDeadLetterTopicWithoutBlockingSubsequentEvents() {
+        // Fetch the topic names defined in the configuration file
+        final var customerRegisteredEventTopic = kafkaConfiguration.getCustomerRegisteredEvent();
+        final var initiateRiskAssessmentTopic = kafkaConfiguration.getCustomerAccountRiskAssessment();
+        final var deadLetterTopic = kafkaConfiguration.getCustomerRegisteredEventRetry() + "-dlt";
+        final var initialDeadLetterCount = meterRegistry.counter("customer.registered.event.dead.letters").count();
+        
+        // Prepare test data
+        final var malformedEvent = "{\"id\": \"" + RandomString.make(10) + "\"";
+        final var customerDto = new CustomerDto();
+        customerDto.setId(RandomString.make(10));
+        customerDto.setFirstName(RandomString.make(10));
+        customerDto.setLastName(RandomString.make(10));
+        customerDto.setEmailId(RandomString.make() + "@domain.com");
+        
+        // Send a malformed event followed by a valid one to customer registered event topic
+        outboxKafkaTemplate.send(customerRegisteredEventTopic, malformedEvent);
+        kafkaTemplate.send(customerRegisteredEventTopic, customerDto);
+        
+        // Verify that the valid event is processed
+        final var riskAssessmentConsumer = KafkaTestUtil.getConsumer(kafkaContainer.getBootstrapServers(), initiateRiskAssessmentTopic);
+        final var receivedValues = new ArrayList<String>();
+        final var deadline = System.currentTimeMillis() + 15000;
+        while (indexOf(receivedValues, customerDto.getId()) < 0 && System.currentTimeMillis() < deadline) {
+            riskAssessmentConsumer.poll(Duration.ofMillis(500)).forEach(receivedMessage -> receivedValues.add(receivedMessage.value().toString()));
+        }
+        assertThat(indexOf(receivedValues, customerDto.getId())).isNotNegative();
+        
+        // Verify that the malformed event is sent to the dead-letter topic as is
+        final var deadLetterConsumer = KafkaTestUtil.getConsumer(kafkaContainer.getBootstrapServers(), deadLetterTopic);
+        final var deadLetters = new ArrayList<String>();
+        while ((!deadLetters.contains(malformedEvent) || meterRegistry.counter("customer.registered.event.dead.letters").count() == initialDeadLetterCount)
+                && System.currentTimeMillis() < deadline + 15000) {
+            deadLetterConsumer.poll(Duration.ofMillis(500)).forEach(receivedMessage -> deadLetters.add(receivedMessage.value().toString()));
+        }
+        assertThat(deadLetters).contains(malformedEvent);
+        assertThat(meterRegistry.counter("customer.registered.event.dead.letters").count()).isGreaterThan(initialDeadLetterCount);
+    }
+    
+    @Test
+    @Order(5)
+    @SneakyThrows
+    void shouldInitiateRiskAssessmentOnceForEventsFollowingMalformedEventInBatch() {
+        // Fetch the topic names defined in the configuration file
+        final var customerRegisteredEventTopic = kafkaConfiguration.getCustomerRegisteredEvent();
+        final var initiateRiskAssessmentTopic = kafkaConfiguration.getCustomerAccountRiskAssessment();
+        final var deadLetterTopic = kafkaConfiguration.getCustomerRegisteredEventRetry() + "-dlt";
+        
+        // Send valid events around a malformed one through a single producer, to be polled as a single batch
+        final var malformedEvent = "{\"id\": \"" + RandomString.make(10) + "\"";
+        final var customerIds = new ArrayList<String>();
+        for (int index = 0; index < 40; index++) {
+            if (index == 20) {
+                outboxKafkaTemplate.send(customerRegisteredEventTopic, RandomString.make(10), malformedEvent);
+            }
+            final var customerDto = new CustomerDto();
+            customerDto.setId(RandomString.make(10));
+            customerDto.setFirstName(RandomString.make(10));
+            customerDto.setLastName(RandomString.make(10));
+            customerDto.setEmailId(RandomString.make() + "@domain.com");
+            customerIds.add(customerDto.getId());
+            outboxKafkaTemplate.send(customerRegisteredEventTopic, customerDto.getId(), objectMapper.writeValueAsString(customerDto));
+        }
+        outboxKafkaTemplate.flush();
+        
+        // Wait for the malformed event to reach the dead-letter topic, post which the batch has been redelivered
+        final var deadLetterConsumer = KafkaTestUtil.getConsumer(kafkaContainer.getBootstrapServers(), deadLetterTopic);
+        final var deadLetters = new ArrayList<String>();
+        final var deadline = System.currentTimeMillis() + 30000;
+        while (!deadLetters.contains(malformedEvent) && System.currentTimeMillis() < deadline) {
+            deadLetterConsumer.poll(Duration.ofMillis(500)).forEach(receivedMessage -> deadLetters.add(receivedMessage.value().toString()));
+        }
+        assertThat(deadLetters).contains(malformedEvent);
+        
+        // Consume the commands received on the initiate risk assessment topic
+        final var riskAssessmentConsumer = KafkaTestUtil.getConsumer(kafkaContainer.getBootstrapServers(), initiateRiskAssessmentTopic);
+        final var receivedValues = new ArrayList<String>();
+        final var quietPeriodEnd = System.currentTimeMillis() + 5000;
+        while (System.currentTimeMillis() < quietPeriodEnd) {
+            riskAssessmentConsumer.poll(Duration.ofMillis(500)).forEach(receivedMessage -> receivedValues.add(receivedMessage.value().toString()));
+        }
+        
+        // Verify that the command for every valid event, including the ones following the malformed event, is sent exactly once
+        assertThat(customerIds).allSatisfy(customerId -> 
+            assertThat(receivedValues).filteredOn(value -> value.contains("\"" + customerId + "\"")).hasSize(1));
+    }
+    
+    private int indexOf(final List<String> receivedValues, final String customerId) {
+        for (int index = 0; index < receivedValues.size(); index++) {
+            if (receivedValues.get(index).contains("\"" + customerId + "\"")) {
+                return index;
+            }
+        }
+        return -1;
+    }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,160 @@
+package com.behl.receptacle.listener;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.internals.RecordHeader;
+import org.junit.jupiter.api.MethodOrderer.OrderAnnotation;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.flyway.FlywayAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.redpanda.RedpandaContainer;
+import org.testcontainers.utility.DockerImageName;
+import com.behl.receptacle.ContainerizedIntegrationApplication;
+import com.behl.receptacle.KafkaTestUtil;
+import com.behl.receptacle.configuration.KafkaConfiguration;
+import com.behl.receptacle.dto.CustomerDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.SneakyThrows;
+import net.bytebuddy.utility.RandomString;
+
+@SpringBootTest(properties = "com.behl.receptacle.kafka.listener.relay-mode=passthrough")
+@ActiveProfiles("test")
+@TestMethodOrder(OrderAnnotation.class)
+@EnableConfigurationProperties(KafkaConfiguration.class)
+@EnableAutoConfiguration(exclude = FlywayAutoConfiguration.class)
+public class CustomerRegisteredEventPassthroughListenerIT {
+
+    @Autowired
+    private KafkaTemplate<String, String> outboxKafkaTemplate;
+
+    @Autowired
+    private KafkaConfiguration kafkaConfiguration;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private static RedpandaContainer kafkaContainer;
+
+    static {
+        kafkaContainer = new RedpandaContainer(DockerImageName.parse("docker.redpanda.com/redpandadata/redpanda:v22.2.13"));
+        kafkaContainer.start();
+    }
+
+    @DynamicPropertySource
+    static void properties(DynamicPropertyRegistry registry) {
+        registry.add("spring.kafka.bootstrap-servers", kafkaContainer::getBootstrapServers);
+    }
+
+    @Test
+    @Order(1)
+    @SneakyThrows
+    void shouldForwardCustomerRegisteredEventAsIsKeyedByCustomerId() {
+        // Fetch the topic names defined in the configuration file
+        final var customerRegisteredEventTopic = kafkaConfiguration.getCustomerRegisteredEvent();
+        final var initiateRiskAssessmentTopic = kafkaConfiguration.getCustomerAccountRiskAssessment();
+
+        // Prepare test data
+        final var customerDto = new CustomerDto();
+        customerDto.setId(RandomString.make(10));
+        customerDto.setFirstName(RandomString.make(10));
+        customerDto.setLastName(RandomString.make(10));
+        customerDto.setEmailId(RandomString.make() + "@domain.com");
+        final var payload = objectMapper.writeValueAsString(customerDto);
+        final var traceId = RandomString.make(16);
+
+        // Send a message with a header to customer registered event topic
+        final var headers = List.<Header>of(new RecordHeader("trace-id", traceId.getBytes(StandardCharsets.UTF_8)));
+        outboxKafkaTemplate.send(new ProducerRecord<String, String>(customerRegisteredEventTopic, null, null, null, payload, headers)).get();
+
+        // Verify that the same payload and header are received on the initiate risk assessment topic
+        final var kafkaConsumer = KafkaTestUtil.getConsumer(kafkaContainer.getBootstrapServers(), initiateRiskAssessmentTopic);
+        final var receivedMessages = kafkaConsumer.poll(Duration.ofMillis(5000));
+        assertThat(receivedMessages.count()).isEqualTo(1);
+        receivedMessages.forEach(receivedMessage -> {
+            assertThat(receivedMessage.key()).isEqualTo(customerDto.getId());
+            assertThat(receivedMessage.value()).isEqualTo(payload);
+            assertThat(receivedMessage.headers().lastHeader("trace-id").value()).isEqualTo(traceId.getBytes(StandardCharsets.UTF_8));
+        });
+    }
+
+    @Test
+    @Order(2)
+    @SneakyThrows
+    void shouldForwardEventsFollowingMalformedEventInBatchOnce() {
+        // Fetch the topic names defined in the configuration file
+        final var customerRegisteredEventTopic = kafkaConfiguration.getCustomerRegisteredEvent();
+        final var initiateRiskAssessmentTopic = kafkaConfiguration.getCustomerAccountRiskAssessment();
+        final var deadLetterTopic = kafkaConfiguration.getCustomerRegisteredEventRetry() + "-dlt";
+
+        // Send valid events around a malformed one through a single producer, to be polled as a single batch
+        final var malformedEvent = "{\"id\": \"" + RandomString.make(10) + "\"";
+        final var customerIds = new ArrayList<String>();
+        for (int index = 0; index < 40; index++) {
+            if (index == 20) {
+                outboxKafkaTemplate.send(customerRegisteredEventTopic, malformedEvent);
+            }
+            final var customerDto = new CustomerDto();
+            customerDto.setId(RandomString.make(10));
+            customerDto.setFirstName(RandomString.make(10));
+            customerDto.setLastName(RandomString.make(10));
+            customerDto.setEmailId(RandomString.make() + "@domain.com");
+            customerIds.add(customerDto.getId());
+            outboxKafkaTemplate.send(customerRegisteredEventTopic, objectMapper.writeValueAsString(customerDto));
+        }
+        outboxKafkaTemplate.flush();
+
+        // Wait for the malformed event to reach the dead-letter topic, post which the batch has been redelivered
+        final var deadLetterConsumer = KafkaTestUtil.getConsumer(kafkaContainer.getBootstrapServers(), deadLetterTopic);
+        final var deadLetters = new ArrayList<String>();
+        final var deadline = System.currentTimeMillis() + 30000;
+        while (!deadLetters.contains(malformedEvent) && System.currentTimeMillis() < deadline) {
+            deadLetterConsumer.poll(Duration.ofMillis(500)).forEach(receivedMessage -> deadLetters.add(receivedMessage.value().toString()));
+        }
+        assertThat(deadLetters).contains(malformedEvent);
+
+        // Consume the commands received on the initiate risk assessment topic
+        final var kafkaConsumer = KafkaTestUtil.getConsumer(kafkaContainer.getBootstrapServers(), initiateRiskAssessmentTopic);
+        final var receivedKeys = new ArrayList<Object>();
+        final var quietPeriodEnd = System.currentTimeMillis() + 5000;
+        while (System.currentTimeMillis() < quietPeriodEnd) {
+            kafkaConsumer.poll(Duration.ofMillis(500)).forEach(receivedMessage -> receivedKeys.add(receivedMessage.key()));
+        }
+
+        // Verify that every valid event, including the ones following the malformed event, is forwarded exactly once
+        assertThat(customerIds).allSatisfy(customerId -> assertThat(receivedKeys).filteredOn(customerId::equals).hasSize(1));
+    }
+
+    @Test
+    @Order(3)
+    void shouldFailStartupIfCustomerRegisteredEventTopicIsEncodedWithAvro() {
+        // Prepare an application relaying in passthrough mode from an Avro encoded topic
+        final var applicationBuilder = new SpringApplicationBuilder(ContainerizedIntegrationApplication.class)
+            .profiles("test")
+            .properties("spring.autoconfigure.exclude=" + FlywayAutoConfiguration.class.getName(), "server.port=0");
+
+        // Verify that the application fails to start
+        assertThatThrownBy(() -> applicationBuilder.run(
+                "--spring.kafka.bootstrap-servers=" + kafkaContainer.getBootstrapServers(),
+                "--com.behl.receptacle.kafka.listener.relay-mode=passthrough",
+                "--com.behl.receptacle.kafka.encoding.avro-topics=" + kafkaConfiguration.getCustomerRegisteredEvent()))
+            .hasRootCauseInstanceOf(IllegalStateException.class)
+            .rootCause().hasMessageContaining(kafkaConfiguration.getCustomerRegisteredEvent());
+    }
+
+}
@@ -0,0 +1,119 @@
+package com.behl.receptacle.listener;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.UUID;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.common.IsolationLevel;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.testcontainers.redpanda.RedpandaContainer;
+import org.testcontainers.utility.DockerImageName;
+import com.behl.receptacle.ContainerizedIntegrationApplication;
+import com.behl.receptacle.dto.CustomerDto;
+import lombok.extern.slf4j.Slf4j;
+import net.bytebuddy.utility.RandomString;
+
+/**
+ * Compares the throughput of relaying customer registered events to the risk assessment topic at
+ * least once against exactly once, where the commands and offsets of each polled batch are
+ * committed in a Kafka transaction. Each mode runs in its own application context against its own
+ * pair of topics. Being long running, the benchmark is executed only when the system property
+ * <code>benchmark</code> is set to <code>true</code>. The number of events relayed per mode
+ * defaults to 100 thousand and can be overridden through the system property
+ * <code>benchmark.events</code>.
+ *
+ * <pre>
+ * {@code
+ * mvn verify -Dit.test=CustomerRegisteredEventRelayThroughputBenchmarkIT -Dbenchmark=true -Dbenchmark.events=100000
+ * }
+ * </pre>
+ */
+@Slf4j
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class CustomerRegisteredEventRelayThroughputBenchmarkIT {
+
+    private static final Duration RELAY_TIMEOUT = Duration.ofMinutes(10);
+
+    @Test
+    void shouldRelayAllEventsExactlyOnceWithinTransactions() {
+        final var eventCount = Integer.getInteger("benchmark.events", 100_000);
+        try (final var kafkaContainer = new RedpandaContainer(DockerImageName.parse("docker.redpanda.com/redpandadata/redpanda:v22.2.13"))) {
+            kafkaContainer.start();
+
+            // Relay the same number of events in both the modes
+            final var atLeastOnceRate = relayEvents(kafkaContainer.getBootstrapServers(), eventCount, null);
+            final var exactlyOnceRate = relayEvents(kafkaContainer.getBootstrapServers(), eventCount, "benchmark-" + RandomString.make(5) + "-");
+            log.info("At least once: {} events/s, exactly once: {} events/s", atLeastOnceRate, exactlyOnceRate);
+
+            // Verify that the throughput of exactly once relaying stays within reach of at least once
+            assertThat(exactlyOnceRate).isPositive();
+            assertThat(exactlyOnceRate).isGreaterThan(atLeastOnceRate / 10);
+        }
+    }
+
+    /**
+     * Starts the application in the provided mode, publishes the events and waits for the commands
+     * of all of them to be committed to the risk assessment topic.
+     *
+     * @return The number of events relayed per second.
+     */
+    private long relayEvents(final String bootstrapServers, final int eventCount, final String transactionIdPrefix) {
+        final var customerRegisteredEventTopic = "benchmark-customer-registered-event-" + RandomString.make(5);
+        final var initiateRiskAssessmentTopic = "benchmark-customer-account-risk-assessment-" + RandomString.make(5);
+        final var applicationBuilder = new SpringApplicationBuilder(ContainerizedIntegrationApplication.class).profiles("test");
+
+        // Passed as arguments, since default properties are overridden by the .yaml configuration files
+        try (final var applicationContext = applicationBuilder.run(
+                "--spring.autoconfigure.exclude=" + FlywayAutoConfiguration.class.getName(),
+                "--server.port=0",
+                "--spring.kafka.bootstrap-servers=" + bootstrapServers,
+                "--spring.kafka.consumer.auto-offset-reset=earliest",
+                "--com.behl.receptacle.kafka.topic-name.customer-registered-event=" + customerRegisteredEventTopic,
+                "--com.behl.receptacle.kafka.topic-name.customer-account-risk-assessment=" + initiateRiskAssessmentTopic,
+                "--com.behl.receptacle.kafka.listener.transaction-id-prefix=" + (transactionIdPrefix != null ? transactionIdPrefix : ""));
+                final var riskAssessmentConsumer = createReadCommittedConsumer(bootstrapServers, initiateRiskAssessmentTopic)) {
+            @SuppressWarnings("unchecked")
+            final KafkaTemplate<String, Object> kafkaTemplate = applicationContext.getBean("kafkaTemplate", KafkaTemplate.class);
+
+            final var startTime = System.nanoTime();
+            for (int index = 0; index < eventCount; index++) {
+                final var customerDto = new CustomerDto();
+                customerDto.setId(UUID.randomUUID().toString());
+                customerDto.setFirstName(RandomString.make(10));
+                customerDto.setLastName(RandomString.make(10));
+                customerDto.setEmailId(RandomString.make() + "@domain.com");
+                kafkaTemplate.send(customerRegisteredEventTopic, customerDto.getId(), customerDto);
+            }
+            kafkaTemplate.flush();
+
+            long relayedCount = 0;
+            final var deadline = System.nanoTime() + RELAY_TIMEOUT.toNanos();
+            while (relayedCount < eventCount && System.nanoTime() < deadline) {
+                relayedCount += riskAssessmentConsumer.poll(Duration.ofMillis(500)).count();
+            }
+            final var elapsedNanos = System.nanoTime() - startTime;
+            assertThat(relayedCount).isEqualTo(eventCount);
+            return eventCount * 1_000_000_000L / elapsedNanos;
+        }
+    }
+
+    private KafkaConsumer<String, String> createReadCommittedConsumer(final String bootstrapServers, final String topicName) {
+        final var properties = new HashMap<String, Object>();
+        properties.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        properties.put(ConsumerConfig.GROUP_ID_CONFIG, UUID.randomUUID().toString());
+        properties.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        properties.put(ConsumerConfig.ISOLATION_LEVEL_CONFIG, IsolationLevel.READ_COMMITTED.toString().toLowerCase());
+        final var consumer = new KafkaConsumer<>(properties, new StringDeserializer(), new StringDeserializer());
+        consumer.subscribe(List.of(topicName));
+        return consumer;
+    }
+
+}
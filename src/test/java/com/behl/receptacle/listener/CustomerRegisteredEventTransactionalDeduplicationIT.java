@@ -0,0 +1,168 @@
+package com.behl.receptacle.listener;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.clients.admin.AdminClientConfig;
+import org.apache.kafka.clients.admin.AlterConfigOp;
+import org.apache.kafka.clients.admin.ConfigEntry;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.common.IsolationLevel;
+import org.apache.kafka.common.config.ConfigResource;
+import org.apache.kafka.common.config.TopicConfig;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.flyway.FlywayAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.redpanda.RedpandaContainer;
+import org.testcontainers.utility.DockerImageName;
+import com.behl.receptacle.dto.CustomerDto;
+import lombok.SneakyThrows;
+import net.bytebuddy.utility.RandomString;
+
+/**
+ * Verifies that, with deduplication enabled, the events of a batch whose transaction rolls back are
+ * relayed once the batch is redelivered, instead of being skipped as duplicates. The risk assessment
+ * topic initially rejects every command through its maximum message size, failing the sends of the
+ * batch until the limit is raised.
+ */
+@SpringBootTest(properties = {
+        "com.behl.receptacle.kafka.listener.transaction-id-prefix=deduplication-it-",
+        "com.behl.receptacle.kafka.listener.deduplication.enabled=true",
+        "com.behl.receptacle.kafka.listener.deduplication.key=customer-id" })
+@ActiveProfiles("test")
+@EnableAutoConfiguration(exclude = FlywayAutoConfiguration.class)
+public class CustomerRegisteredEventTransactionalDeduplicationIT {
+
+    @Autowired
+    private KafkaTemplate<String, Object> kafkaTemplate;
+
+    private static RedpandaContainer kafkaContainer;
+    private static GenericContainer<?> redisContainer;
+    private static int redisPort = 6379;
+    private static String redisPassword = RandomString.make(10);
+
+    private static final String CUSTOMER_REGISTERED_EVENT_TOPIC = "transactional-customer-registered-event-" + RandomString.make(5);
+    private static final String INITIATE_RISK_ASSESSMENT_TOPIC = "transactional-customer-account-risk-assessment-" + RandomString.make(5);
+
+    static {
+        kafkaContainer = new RedpandaContainer(DockerImageName.parse("docker.redpanda.com/redpandadata/redpanda:v22.2.13"));
+        kafkaContainer.start();
+
+        redisContainer = new GenericContainer<>(DockerImageName.parse("redis:7.0.11-alpine3.18"))
+            .withExposedPorts(redisPort).withCommand("redis-server", "--requirepass", redisPassword);
+        redisContainer.start();
+
+        setMaxMessageBytes(true);
+    }
+
+    @DynamicPropertySource
+    static void properties(DynamicPropertyRegistry registry) {
+        registry.add("spring.kafka.bootstrap-servers", kafkaContainer::getBootstrapServers);
+        registry.add("spring.data.redis.host", redisContainer::getHost);
+        registry.add("spring.data.redis.port", () -> String.valueOf(redisContainer.getMappedPort(redisPort)));
+        registry.add("spring.data.redis.password", () -> redisPassword);
+        registry.add("com.behl.receptacle.kafka.topic-name.customer-registered-event", () -> CUSTOMER_REGISTERED_EVENT_TOPIC);
+        registry.add("com.behl.receptacle.kafka.topic-name.customer-account-risk-assessment", () -> INITIATE_RISK_ASSESSMENT_TOPIC);
+    }
+
+    @Test
+    @SneakyThrows
+    void shouldRelayEventsOfRolledBackBatchOnRedelivery() {
+        // Send events to customer registered event topic, whose commands are rejected by the risk assessment topic
+        final var customerIds = new ArrayList<String>();
+        for (int index = 0; index < 10; index++) {
+            final var customerDto = createCustomer(RandomString.make(10));
+            customerIds.add(customerDto.getId());
+            kafkaTemplate.send(CUSTOMER_REGISTERED_EVENT_TOPIC, customerDto.getId(), customerDto);
+        }
+        kafkaTemplate.flush();
+
+        // Verify that no command is committed while the transactions of the batch roll back
+        try (final var riskAssessmentConsumer = createReadCommittedConsumer(INITIATE_RISK_ASSESSMENT_TOPIC)) {
+            final var receivedValues = pollFor(riskAssessmentConsumer, Duration.ofSeconds(5));
+            assertThat(receivedValues).isEmpty();
+
+            // Accept the commands on the risk assessment topic and verify that every event is relayed exactly once
+            setMaxMessageBytes(false);
+            final var deadline = System.currentTimeMillis() + 30000;
+            while (customerIds.stream().anyMatch(customerId -> count(receivedValues, customerId) == 0) && System.currentTimeMillis() < deadline) {
+                receivedValues.addAll(pollFor(riskAssessmentConsumer, Duration.ofMillis(500)));
+            }
+            receivedValues.addAll(pollFor(riskAssessmentConsumer, Duration.ofSeconds(3)));
+            assertThat(customerIds).allSatisfy(customerId -> assertThat(count(receivedValues, customerId)).isEqualTo(1));
+
+            // Send a duplicate event for a relayed customer and verify that it is skipped
+            final var duplicateEvent = createCustomer(customerIds.get(0));
+            kafkaTemplate.send(CUSTOMER_REGISTERED_EVENT_TOPIC, duplicateEvent.getId(), duplicateEvent).get();
+            receivedValues.addAll(pollFor(riskAssessmentConsumer, Duration.ofSeconds(5)));
+            assertThat(count(receivedValues, duplicateEvent.getId())).isEqualTo(1);
+        }
+    }
+
+    /**
+     * Creates the risk assessment topic limited to a single byte per message if it is to reject
+     * commands, else raises its limit for commands to be accepted.
+     */
+    @SneakyThrows
+    private static void setMaxMessageBytes(final boolean rejectCommands) {
+        try (final var adminClient = AdminClient.create(Map.of(AdminClientConfig.BOOTSTRAP_SERVERS_CONFIG, kafkaContainer.getBootstrapServers()))) {
+            if (rejectCommands) {
+                final var topic = new NewTopic(INITIATE_RISK_ASSESSMENT_TOPIC, 1, (short) 1).configs(Map.of(TopicConfig.MAX_MESSAGE_BYTES_CONFIG, "1"));
+                adminClient.createTopics(List.of(topic)).all().get();
+                return;
+            }
+            final var resource = new ConfigResource(ConfigResource.Type.TOPIC, INITIATE_RISK_ASSESSMENT_TOPIC);
+            final var operation = new AlterConfigOp(new ConfigEntry(TopicConfig.MAX_MESSAGE_BYTES_CONFIG, "1048576"), AlterConfigOp.OpType.SET);
+            adminClient.incrementalAlterConfigs(Map.of(resource, List.of(operation))).all().get();
+        }
+    }
+
+    private CustomerDto createCustomer(final String customerId) {
+        final var customerDto = new CustomerDto();
+        customerDto.setId(customerId);
+        customerDto.setFirstName(RandomString.make(10));
+        customerDto.setLastName(RandomString.make(10));
+        customerDto.setEmailId(RandomString.make() + "@domain.com");
+        return customerDto;
+    }
+
+    private List<String> pollFor(final KafkaConsumer<String, String> consumer, final Duration duration) {
+        final var receivedValues = new ArrayList<String>();
+        final var deadline = System.currentTimeMillis() + duration.toMillis();
+        while (System.currentTimeMillis() < deadline) {
+            consumer.poll(Duration.ofMillis(500)).forEach(receivedMessage -> receivedValues.add(receivedMessage.value()));
+        }
+        return receivedValues;
+    }
+
+    private long count(final List<String> receivedValues, final String customerId) {
+        return receivedValues.stream().filter(value -> value.contains("\"" + customerId + "\"")).count();
+    }
+
+    private KafkaConsumer<String, String> createReadCommittedConsumer(final String topicName) {
+        final var properties = new HashMap<String, Object>();
+        properties.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, kafkaContainer.getBootstrapServers());
+        properties.put(ConsumerConfig.GROUP_ID_CONFIG, UUID.randomUUID().toString());
+        properties.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        properties.put(ConsumerConfig.ISOLATION_LEVEL_CONFIG, IsolationLevel.READ_COMMITTED.toString().toLowerCase());
+        final var consumer = new KafkaConsumer<>(properties, new StringDeserializer(), new StringDeserializer());
+        consumer.subscribe(List.of(topicName));
+        return consumer;
+    }
+
+}
@@ -0,0 +1,141 @@
+package com.behl.receptacle.listener;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.UUID;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.common.IsolationLevel;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.flyway.FlywayAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.redpanda.RedpandaContainer;
+import org.testcontainers.utility.DockerImageName;
+import com.behl.receptacle.dto.CustomerDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.SneakyThrows;
+import net.bytebuddy.utility.RandomString;
+
+/**
+ * Verifies the recovery of a transactional batch failing midway. The events are published to a
+ * single partition with a malformed event amidst them, for the batch delivering them to fail at the
+ * malformed event after the preceding ones were relayed within the rolled back transaction.
+ */
+@SpringBootTest(properties = {
+        "com.behl.receptacle.kafka.listener.transaction-id-prefix=transactional-listener-it-",
+        "spring.kafka.consumer.auto-offset-reset=earliest" })
+@ActiveProfiles("test")
+@EnableAutoConfiguration(exclude = FlywayAutoConfiguration.class)
+public class CustomerRegisteredEventTransactionalListenerIT {
+
+    @Autowired
+    private KafkaTemplate<String, String> outboxKafkaTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private static RedpandaContainer kafkaContainer;
+
+    private static final String CUSTOMER_REGISTERED_EVENT_TOPIC = "transactional-customer-registered-event-" + RandomString.make(5);
+    private static final String CUSTOMER_REGISTERED_EVENT_RETRY_TOPIC = "transactional-customer-registered-event-retry-" + RandomString.make(5);
+    private static final String INITIATE_RISK_ASSESSMENT_TOPIC = "transactional-customer-account-risk-assessment-" + RandomString.make(5);
+
+    static {
+        kafkaContainer = new RedpandaContainer(DockerImageName.parse("docker.redpanda.com/redpandadata/redpanda:v22.2.13"));
+        kafkaContainer.start();
+    }
+
+    @DynamicPropertySource
+    static void properties(DynamicPropertyRegistry registry) {
+        registry.add("spring.kafka.bootstrap-servers", kafkaContainer::getBootstrapServers);
+        registry.add("com.behl.receptacle.kafka.topic-name.customer-registered-event", () -> CUSTOMER_REGISTERED_EVENT_TOPIC);
+        registry.add("com.behl.receptacle.kafka.topic-name.customer-registered-event-retry", () -> CUSTOMER_REGISTERED_EVENT_RETRY_TOPIC);
+        registry.add("com.behl.receptacle.kafka.topic-name.customer-account-risk-assessment", () -> INITIATE_RISK_ASSESSMENT_TOPIC);
+    }
+
+    @Test
+    @SneakyThrows
+    void shouldRelayEventsAroundMalformedEventExactlyOnceAndRecoverItToRetryTopic() {
+        // Send events sharing a key to customer registered event topic, with a malformed event amidst them
+        final var partitionKey = RandomString.make(10);
+        final var customerIds = new ArrayList<String>();
+        final var malformedEvent = "malformed-event-" + RandomString.make(10);
+        final var deadLetterCount = meterRegistry.counter("customer.registered.event.dead.letters").count();
+        for (int index = 0; index < 10; index++) {
+            if (index == 5) {
+                outboxKafkaTemplate.send(CUSTOMER_REGISTERED_EVENT_TOPIC, partitionKey, malformedEvent);
+            }
+            final var customerDto = new CustomerDto();
+            customerDto.setId(RandomString.make(10));
+            customerDto.setFirstName(RandomString.make(10));
+            customerDto.setLastName(RandomString.make(10));
+            customerDto.setEmailId(RandomString.make() + "@domain.com");
+            customerIds.add(customerDto.getId());
+            outboxKafkaTemplate.send(CUSTOMER_REGISTERED_EVENT_TOPIC, partitionKey, objectMapper.writeValueAsString(customerDto));
+        }
+        outboxKafkaTemplate.flush();
+
+        // Verify that every valid event, including the ones preceding the malformed event, is relayed exactly once
+        try (final var riskAssessmentConsumer = createReadCommittedConsumer(INITIATE_RISK_ASSESSMENT_TOPIC)) {
+            final var receivedValues = new ArrayList<String>();
+            final var deadline = System.currentTimeMillis() + 30000;
+            while (customerIds.stream().anyMatch(customerId -> count(receivedValues, customerId) == 0) && System.currentTimeMillis() < deadline) {
+                receivedValues.addAll(pollFor(riskAssessmentConsumer, Duration.ofMillis(500)));
+            }
+            receivedValues.addAll(pollFor(riskAssessmentConsumer, Duration.ofSeconds(3)));
+            assertThat(customerIds).allSatisfy(customerId -> assertThat(count(receivedValues, customerId)).isEqualTo(1));
+        }
+
+        // Verify that the malformed event is committed to the retry topic exactly once
+        try (final var retryConsumer = createReadCommittedConsumer(CUSTOMER_REGISTERED_EVENT_RETRY_TOPIC)) {
+            final var retriedValues = pollFor(retryConsumer, Duration.ofSeconds(5));
+            assertThat(retriedValues).filteredOn(malformedEvent::equals).hasSize(1);
+        }
+
+        // Verify that the malformed event ends up on the dead-letter topic, as it cannot be deserialized on retry either
+        final var deadline = System.currentTimeMillis() + 15000;
+        while (meterRegistry.counter("customer.registered.event.dead.letters").count() == deadLetterCount && System.currentTimeMillis() < deadline) {
+            Thread.sleep(500);
+        }
+        assertThat(meterRegistry.counter("customer.registered.event.dead.letters").count()).isEqualTo(deadLetterCount + 1);
+    }
+
+    private List<String> pollFor(final KafkaConsumer<String, String> consumer, final Duration duration) {
+        final var receivedValues = new ArrayList<String>();
+        final var deadline = System.currentTimeMillis() + duration.toMillis();
+        while (System.currentTimeMillis() < deadline) {
+            consumer.poll(Duration.ofMillis(500)).forEach(receivedMessage -> receivedValues.add(receivedMessage.value()));
+        }
+        return receivedValues;
+    }
+
+    private long count(final List<String> receivedValues, final String customerId) {
+        return receivedValues.stream().filter(value -> value.contains("\"" + customerId + "\"")).count();
+    }
+
+    private KafkaConsumer<String, String> createReadCommittedConsumer(final String topicName) {
+        final var properties = new HashMap<String, Object>();
+        properties.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, kafkaContainer.getBootstrapServers());
+        properties.put(ConsumerConfig.GROUP_ID_CONFIG, UUID.randomUUID().toString());
+        properties.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        properties.put(ConsumerConfig.ISOLATION_LEVEL_CONFIG, IsolationLevel.READ_COMMITTED.toString().toLowerCase());
+        final var consumer = new KafkaConsumer<>(properties, new StringDeserializer(), new StringDeserializer());
+        consumer.subscribe(List.of(topicName));
+        return consumer;
+    }
+
+}
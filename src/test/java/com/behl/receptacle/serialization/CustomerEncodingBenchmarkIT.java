@@ -0,0 +1,129 @@
+package com.behl.receptacle.serialization;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+import com.behl.receptacle.dto.CustomerDto;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import net.bytebuddy.utility.RandomString;
+
+/**
+ * Compares the size and the serialization and deserialization throughput of customer messages
+ * encoded as JSON, as done by default, against the Avro binary encoding. Being long running, the
+ * benchmark is executed only when the system property <code>benchmark</code> is set to
+ * <code>true</code>.
+ *
+ * <pre>
+ * {@code
+ * mvn verify -Dit.test=CustomerEncodingBenchmarkIT -Dbenchmark=true
+ * }
+ * </pre>
+ */
+@Slf4j
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class CustomerEncodingBenchmarkIT {
+
+    private static final String TOPIC = "customer-account-registered-event";
+
+    private CustomerDto customerDto;
+    private JsonSerializer<CustomerDto> jsonSerializer;
+    private JsonDeserializer<CustomerDto> jsonDeserializer;
+    private AvroSerializer<CustomerDto> avroSerializer;
+    private AvroDeserializer<CustomerDto> avroDeserializer;
+    private byte[] jsonMessage;
+    private byte[] avroMessage;
+
+    @Setup
+    public void setUp() {
+        customerDto = new CustomerDto();
+        customerDto.setId(RandomString.make(10));
+        customerDto.setFirstName(RandomString.make(10));
+        customerDto.setLastName(RandomString.make(10));
+        customerDto.setEmailId(RandomString.make() + "@domain.com");
+
+        final var customerSchema = LocalSchemaRegistry.parse(new ClassPathResource("avro/customer-v1.avsc"));
+        jsonSerializer = new JsonSerializer<>();
+        jsonDeserializer = new JsonDeserializer<>(CustomerDto.class, false);
+        avroSerializer = new AvroSerializer<>(customerSchema);
+        avroDeserializer = new AvroDeserializer<>(customerSchema, new LocalSchemaRegistry("classpath*:avro/*.avsc"));
+        jsonMessage = jsonSerializer.serialize(TOPIC, customerDto);
+        avroMessage = avroSerializer.serialize(TOPIC, customerDto);
+    }
+
+    @Benchmark
+    public byte[] jsonSerialize() {
+        return jsonSerializer.serialize(TOPIC, customerDto);
+    }
+
+    @Benchmark
+    public CustomerDto jsonDeserialize() {
+        return jsonDeserializer.deserialize(TOPIC, jsonMessage);
+    }
+
+    @Benchmark
+    public byte[] avroSerialize() {
+        return avroSerializer.serialize(TOPIC, customerDto);
+    }
+
+    @Benchmark
+    public CustomerDto avroDeserialize() {
+        return avroDeserializer.deserialize(TOPIC, avroMessage);
+    }
+
+    @Test
+    @SneakyThrows
+    void shouldEncodeCustomerMoreCompactlyWithAvroThanJson() {
+        // Verify that a customer survives an Avro round trip and compare the bytes per message
+        setUp();
+        final var decodedCustomer = avroDeserializer.deserialize(TOPIC, avroMessage);
+        assertThat(decodedCustomer).usingRecursiveComparison().isEqualTo(customerDto);
+        log.info("JSON: {} bytes per message, Avro: {} bytes per message", jsonMessage.length, avroMessage.length);
+
+        // Execute the benchmarks in a forked JVM with the allocation profiler attached
+        final var options = new OptionsBuilder()
+            .include(getClass().getName())
+            .addProfiler(GCProfiler.class)
+            .build();
+        final var results = new Runner(options).run();
+
+        // Log the throughput and allocation per message of each encoding
+        final var throughputs = new HashMap<String, Double>();
+        results.forEach(result -> {
+            final var benchmark = result.getPrimaryResult().getLabel();
+            final var throughput = result.getPrimaryResult().getScore();
+            final var allocation = result.getSecondaryResults().get("gc.alloc.rate.norm").getScore();
+            log.info("{}: {} messages/s, {} bytes allocated per message", benchmark, Math.round(throughput), Math.round(allocation));
+            throughputs.put(benchmark, throughput);
+        });
+
+        // Verify that the Avro encoding is smaller than JSON
+        assertThat(avroMessage.length).isLessThan(jsonMessage.length);
+        assertThat(throughputs).containsKeys("jsonSerialize", "jsonDeserialize", "avroSerialize", "avroDeserialize");
+    }
+
+}
@@ -2,6 +2,8 @@ package com.behl.receptacle.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
@@ -95,6 +97,109 @@ public class CacheServiceIT {
         assertThat(retrievedRecord.get().getLastName()).isEqualTo(updatedUserRecord.getLastName());
     }
     
+    @Test
+    @SneakyThrows
+    void shouldRetainTimeToLiveOfCachedRecordOnUpdate() {
+        // Prepare test data and save generated record in cache
+        final var key = RandomString.make(10);
+        final var timeToLive = Duration.ofSeconds(2);
+        cacheService.set(key, User.create(), timeToLive);
+        
+        // Update the cached record and verify that the update is performed
+        final var updatedUserRecord = User.create();
+        final var updated = cacheService.update(key, updatedUserRecord);
+        assertThat(updated).isTrue();
+        
+        // Verify that the updated record is no longer available after the initial time-to-live duration has expired
+        Thread.sleep(timeToLive.toMillis());
+        final var retrievedRecord = cacheService.fetch(key, User.class);
+        assertThat(retrievedRecord.isEmpty()).isTrue();
+    }
+    
+    @Test
+    void shouldNotUpdateRecordIfKeyNotPresentInCache() {
+        // Generate a random key that is not present in the cache
+        final var key = RandomString.make(10);
+        
+        // Attempt to update the value associated with the key
+        final var updated = cacheService.update(key, User.create());
+        
+        // Verify that no update is performed and no record is created
+        assertThat(updated).isFalse();
+        assertThat(cacheService.fetch(key, User.class).isEmpty()).isTrue();
+    }
+    
+    @Test
+    void shouldUpdateCachedRecordOnlyIfVersionMatches() {
+        // Prepare test data and save generated record in cache
+        final var key = RandomString.make(10);
+        final var initialUserRecord = User.create();
+        cacheService.set(key, initialUserRecord, Duration.ofSeconds(10));
+        
+        // Attempt to update the cached record against a stale version and verify that it's rejected
+        final var staleUserRecord = User.create();
+        final var staleUpdate = cacheService.compareAndSet(key, staleUserRecord, "version", initialUserRecord.getVersion() - 1);
+        assertThat(staleUpdate).isFalse();
+        assertThat(cacheService.fetch(key, User.class).get().getId()).isEqualTo(initialUserRecord.getId());
+        
+        // Update the cached record against the current version and verify that it's accepted
+        final var updatedUserRecord = User.create();
+        updatedUserRecord.setVersion(initialUserRecord.getVersion() + 1);
+        final var update = cacheService.compareAndSet(key, updatedUserRecord, "version", initialUserRecord.getVersion());
+        assertThat(update).isTrue();
+        
+        final var retrievedRecord = cacheService.fetch(key, User.class);
+        assertThat(retrievedRecord.get().getId()).isEqualTo(updatedUserRecord.getId());
+        assertThat(retrievedRecord.get().getVersion()).isEqualTo(updatedUserRecord.getVersion());
+    }
+    
+    @Test
+    void shouldIncrementAttributeOfCachedRecord() {
+        // Prepare test data and save generated record in cache
+        final var key = RandomString.make(10);
+        final var userRecord = User.create();
+        cacheService.set(key, userRecord, Duration.ofSeconds(10));
+        
+        // Increment the login count of the cached record
+        final var incrementedValue = cacheService.increment(key, "loginCount", 5);
+        
+        // Verify that the incremented value is returned and the remaining attributes are intact
+        assertThat(incrementedValue).contains(userRecord.getLoginCount() + 5);
+        final var retrievedRecord = cacheService.fetch(key, User.class);
+        assertThat(retrievedRecord.get().getLoginCount()).isEqualTo(userRecord.getLoginCount() + 5);
+        assertThat(retrievedRecord.get().getId()).isEqualTo(userRecord.getId());
+        assertThat(retrievedRecord.get().getFirstName()).isEqualTo(userRecord.getFirstName());
+        
+        // Verify that incrementing an attribute of a non-existent record returns an empty value
+        assertThat(cacheService.increment(RandomString.make(10), "loginCount", 1)).isEmpty();
+    }
+    
+    @Test
+    void shouldRetainRemainingAttributesOfCachedRecordOnIncrement() {
+        // Prepare test data holding an empty collection, a fractional value and a large counter, and save it in cache
+        final var key = RandomString.make(10);
+        final var userRecord = User.create();
+        userRecord.setLoginCount(Long.MAX_VALUE - 10);
+        userRecord.setBalance(1234567.891011121);
+        cacheService.set(key, userRecord, Duration.ofSeconds(10));
+        
+        // Increment the login count of the cached record
+        final var incrementedValue = cacheService.increment(key, "loginCount", 5);
+        
+        // Verify that the large counter is incremented exactly and the remaining attributes are written back as cached
+        assertThat(incrementedValue).contains(Long.MAX_VALUE - 5);
+        final var retrievedRecord = cacheService.fetch(key, User.class);
+        assertThat(retrievedRecord.get().getLoginCount()).isEqualTo(Long.MAX_VALUE - 5);
+        assertThat(retrievedRecord.get().getBalance()).isEqualTo(userRecord.getBalance());
+        assertThat(retrievedRecord.get().getRoles()).isNotNull().isEmpty();
+        
+        // Verify that the cached record is still updated against its version after the increment
+        final var updatedUserRecord = User.create();
+        final var update = cacheService.compareAndSet(key, updatedUserRecord, "version", userRecord.getVersion());
+        assertThat(update).isTrue();
+        assertThat(cacheService.fetch(key, User.class).get().getId()).isEqualTo(updatedUserRecord.getId());
+    }
+    
     @Test
     void shouldFetchCachedRecordSuccessfully() {
         // Prepare test data and save generated record in cache
@@ -145,6 +250,27 @@ public class CacheServiceIT {
         assertThat(retrievedRecord.isEmpty()).isTrue();
     }
     
+    @Test
+    void shouldDeleteCachedRecordsWithKeysMatchingPattern() {
+        // Prepare test data and save generated records in cache under a common key prefix
+        final var keyPrefix = RandomString.make(10);
+        final var timeToLive = Duration.ofSeconds(10);
+        final var matchingRecordCount = 1200;
+        for (int index = 0; index < matchingRecordCount; index++) {
+            cacheService.set(keyPrefix + ":" + index, User.create(), timeToLive);
+        }
+        final var unrelatedKey = RandomString.make(10);
+        cacheService.set(unrelatedKey, User.create(), timeToLive);
+        
+        // Delete the cached records with keys matching the common prefix
+        final var deletedCount = cacheService.deleteByPattern(keyPrefix + ":*");
+        
+        // Verify that only the matching records are deleted
+        assertThat(deletedCount).isEqualTo(matchingRecordCount);
+        assertThat(cacheService.fetch(keyPrefix + ":0", User.class).isEmpty()).isTrue();
+        assertThat(cacheService.fetch(unrelatedKey, User.class).isPresent()).isTrue();
+    }
+    
     @Getter
     @Setter
     static class User {
@@ -152,11 +278,19 @@ public class CacheServiceIT {
         private String id;
         private String firstName;
         private String lastName;
+        private Long version;
+        private Long loginCount;
+        private Double balance;
+        private List<String> roles;
         
         private User() {
             this.id = RandomString.make(5);
             this.firstName = RandomString.make(5);
             this.lastName = RandomString.make(5);
+            this.version = 1L;
+            this.loginCount = 0L;
+            this.balance = 0.0;
+            this.roles = new ArrayList<>();
         }
         
         public static User create() {
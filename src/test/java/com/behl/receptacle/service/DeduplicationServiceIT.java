@@ -0,0 +1,69 @@
+package com.behl.receptacle.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.flyway.FlywayAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.utility.DockerImageName;
+import lombok.SneakyThrows;
+import net.bytebuddy.utility.RandomString;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@EnableAutoConfiguration(exclude = FlywayAutoConfiguration.class)
+public class DeduplicationServiceIT {
+
+    @Autowired
+    private DeduplicationService deduplicationService;
+
+    private static GenericContainer<?> redisContainer;
+    private static int redisPort = 6379;
+    private static String redisPassword = RandomString.make(10);
+
+    static {
+        redisContainer = new GenericContainer<>(DockerImageName.parse("redis:7.0.11-alpine3.18"))
+            .withExposedPorts(redisPort).withCommand("redis-server", "--requirepass", redisPassword);
+        redisContainer.start();
+    }
+
+    @DynamicPropertySource
+    static void properties(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.redis.host", redisContainer::getHost);
+        registry.add("spring.data.redis.port", () -> String.valueOf(redisContainer.getMappedPort(redisPort)));
+        registry.add("spring.data.redis.password", () -> redisPassword);
+    }
+
+    @Test
+    @SneakyThrows
+    void shouldFindKeysProcessedOnlyOnceRecordedUntilExpired() {
+        // Prepare test data
+        final var recordedKey = RandomString.make(10);
+        final var checkedKey = RandomString.make(10);
+        final var expiringKey = RandomString.make(10);
+        final var timeToLive = Duration.ofMinutes(1);
+
+        // Verify that checking the keys does not record them as processed
+        assertThat(deduplicationService.findProcessed(List.of(recordedKey, checkedKey))).containsExactly(false, false);
+        assertThat(deduplicationService.findProcessed(List.of(recordedKey, checkedKey))).containsExactly(false, false);
+
+        // Record a key as processed and verify that only the recorded key is found processed
+        deduplicationService.recordProcessed(List.of(recordedKey), timeToLive);
+        assertThat(deduplicationService.findProcessed(List.of(recordedKey, checkedKey))).containsExactly(true, false);
+
+        // Verify that a key is no longer found processed once its time-to-live has expired
+        final var shortTimeToLive = Duration.ofSeconds(1);
+        deduplicationService.recordProcessed(List.of(expiringKey), shortTimeToLive);
+        assertThat(deduplicationService.findProcessed(List.of(expiringKey))).containsExactly(true);
+        Thread.sleep(shortTimeToLive.toMillis() + 500);
+        assertThat(deduplicationService.findProcessed(List.of(expiringKey))).containsExactly(false);
+    }
+
+}
@@ -0,0 +1,88 @@
+package com.behl.receptacle.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import java.time.Duration;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.redpanda.RedpandaContainer;
+import org.testcontainers.utility.DockerImageName;
+import com.behl.receptacle.KafkaTestUtil;
+import com.behl.receptacle.configuration.KafkaConfiguration;
+import com.behl.receptacle.entity.User;
+import net.bytebuddy.utility.RandomString;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class OutboxRelayServiceIT {
+
+    @Autowired
+    private OutboxRelayService outboxRelayService;
+
+    @Autowired
+    private PersistenceService persistenceService;
+
+    @Autowired
+    private KafkaConfiguration kafkaConfiguration;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private static MySQLContainer<?> mySQLContainer;
+    private static RedpandaContainer kafkaContainer;
+
+    static {
+        mySQLContainer = new MySQLContainer<>(DockerImageName.parse("mysql:8"));
+        mySQLContainer.start();
+
+        kafkaContainer = new RedpandaContainer(DockerImageName.parse("docker.redpanda.com/redpandadata/redpanda:v22.2.13"));
+        kafkaContainer.start();
+    }
+
+    @DynamicPropertySource
+    static void properties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", mySQLContainer::getJdbcUrl);
+        registry.add("spring.datasource.username", mySQLContainer::getUsername);
+        registry.add("spring.datasource.password", mySQLContainer::getPassword);
+        registry.add("spring.kafka.bootstrap-servers", kafkaContainer::getBootstrapServers);
+        registry.add("com.behl.receptacle.outbox.relay.enabled", () -> Boolean.TRUE);
+        registry.add("com.behl.receptacle.outbox.relay.poll-interval", () -> "1h");
+        registry.add("com.behl.receptacle.outbox.relay.batch-size", () -> 2);
+    }
+
+    @Test
+    void shouldRelaySavedUserAsCustomerRegisteredEventAndMarkOutboxEventPublished() {
+        // Prepare test data and save the user record in datasource
+        final var country = persistenceService.getAllCountries().stream().findAny().orElse(null);
+        final var user = new User();
+        user.setFirstName(RandomString.make(10));
+        user.setLastName(RandomString.make(10));
+        user.setCountry(country);
+        final var savedUserId = persistenceService.saveUser(user);
+        
+        // Verify that the customer registered event is recorded in the outbox and yet to be published
+        final var jdbcTemplate = new JdbcTemplate(dataSource);
+        final var unpublishedCountQuery = "SELECT COUNT(*) FROM outbox_events WHERE published_at IS NULL";
+        assertThat(jdbcTemplate.queryForObject(unpublishedCountQuery, Integer.class)).isPositive();
+
+        // Relay the pending outbox events across batches
+        final var relayedCount = outboxRelayService.relay();
+
+        // Verify that the outbox is drained and the event is published to the customer registered event topic
+        assertThat(relayedCount).isPositive();
+        assertThat(jdbcTemplate.queryForObject(unpublishedCountQuery, Integer.class)).isZero();
+        final var kafkaConsumer = KafkaTestUtil.getConsumer(kafkaContainer.getBootstrapServers(), kafkaConfiguration.getCustomerRegisteredEvent());
+        final var receivedMessages = kafkaConsumer.poll(Duration.ofMillis(5000));
+        assertThat(receivedMessages).anySatisfy(receivedMessage -> {
+            assertThat(receivedMessage.key()).isEqualTo(savedUserId.toString());
+            assertThat(receivedMessage.value().toString()).contains(user.getFirstName()).contains(user.getLastName());
+        });
+    }
+
+}
@@ -2,16 +2,36 @@ package com.behl.receptacle.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.Assert.assertThrows;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import javax.sql.DataSource;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.GenericContainer;
 import org.testcontainers.containers.MySQLContainer;
 import org.testcontainers.utility.DockerImageName;
+import com.behl.receptacle.dto.UserDto;
+import com.behl.receptacle.entity.Country;
 import com.behl.receptacle.entity.User;
+import com.behl.receptacle.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
 import jakarta.persistence.EntityNotFoundException;
+import lombok.SneakyThrows;
 import net.bytebuddy.utility.RandomString;
 
 @SpringBootTest
@@ -20,12 +40,42 @@ public class PersistenceServiceIT {
 
     @Autowired
     private PersistenceService persistenceService;
+    
+    @Autowired
+    private CacheService cacheService;
+    
+    @Autowired
+    private CountryRegistry countryRegistry;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private DataSource dataSource;
+    
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
 
     private static MySQLContainer<?> mySQLContainer;
+    private static GenericContainer<?> redisContainer;
+    private static int redisPort = 6379;
+    private static String redisPassword = RandomString.make(10);
+    
+    private static final String POOL_NAME = "mysql-primary-pool";
 
     static { 
         mySQLContainer = new MySQLContainer<>(DockerImageName.parse("mysql:8"));
         mySQLContainer.start();
+        
+        redisContainer = new GenericContainer<>(DockerImageName.parse("redis:7.0.11-alpine3.18"))
+            .withExposedPorts(redisPort).withCommand("redis-server", "--requirepass", redisPassword);
+        redisContainer.start();
     }
 
     @DynamicPropertySource
@@ -33,6 +83,12 @@ public class PersistenceServiceIT {
         registry.add("spring.datasource.url", mySQLContainer::getJdbcUrl);
         registry.add("spring.datasource.username", mySQLContainer::getUsername);
         registry.add("spring.datasource.password", mySQLContainer::getPassword);
+        registry.add("spring.data.redis.host", redisContainer::getHost);
+        registry.add("spring.data.redis.port", () -> String.valueOf(redisContainer.getMappedPort(redisPort)));
+        registry.add("spring.data.redis.password", () -> redisPassword);
+        registry.add("com.behl.receptacle.cache.users.enabled", () -> Boolean.TRUE);
+        registry.add("com.behl.receptacle.persistence.export.page-size", () -> 100);
+        registry.add("com.behl.receptacle.persistence.bulk-delete.chunk-size", () -> 2);
     }
 
     @Test
@@ -44,6 +100,21 @@ public class PersistenceServiceIT {
         assertThat(countries).isNotEmpty();
     }
 
+    @Test
+    void shouldServeCountryRecordsFromInMemoryRegistry() {
+        // Retrieve the list of countries twice and verify that the same loaded records are served
+        final var countries = persistenceService.getAllCountries();
+        assertThat(persistenceService.getAllCountries()).isSameAs(countries);
+        
+        // Verify that every country can be looked up by its ID and name
+        countries.forEach(country -> {
+            assertThat(countryRegistry.getById(country.getId())).containsSame(country);
+            assertThat(countryRegistry.getByName(country.getName())).containsSame(country);
+        });
+        assertThat(countryRegistry.getById(Integer.MAX_VALUE)).isEmpty();
+        assertThat(countryRegistry.getByName(RandomString.make(10))).isEmpty();
+    }
+
     @Test
     void shouldSaveUserRecordInDatabaseAndReturnValidUserId() {
         // Prepare test data
@@ -63,7 +134,11 @@ public class PersistenceServiceIT {
         assertThat(fetchedUser.getId()).isEqualTo(savedUserId);
         assertThat(fetchedUser.getFirstName()).isEqualTo(firstName);
         assertThat(fetchedUser.getLastName()).isEqualTo(lastName);
-        assertThat(fetchedUser.getCountry().getId()).isEqualTo(country.getId());        
+        assertThat(fetchedUser.getCountry().getId()).isEqualTo(country.getId());
+        assertThat(fetchedUser.getCountry().getName()).isEqualTo(country.getName());
+        
+        // Verify that the assigned user ID is a time-ordered version 7 UUID
+        assertThat(savedUserId.version()).isEqualTo(7);
      }
     
     @Test
@@ -88,5 +163,230 @@ public class PersistenceServiceIT {
         // Verify that attempting to fetch the deleted user results throws EntityNotFoundException
         assertThrows(EntityNotFoundException.class, () -> persistenceService.getUserById(savedUserId));
      }
+    
+    @Test
+    void shouldDeleteUserRecordsInBulkAndEvictCachedDetails() {
+        // Prepare test data spanning multiple chunks and cache the details of the saved users
+        final var country = persistenceService.getAllCountries().stream().findAny().orElse(null);
+        final var savedUserIds = new ArrayList<UUID>();
+        for (int index = 0; index < 5; index++) {
+            final var user = new User();
+            user.setFirstName(RandomString.make(10));
+            user.setLastName(RandomString.make(10));
+            user.setCountry(country);
+            final var savedUserId = persistenceService.saveUser(user);
+            assertThat(persistenceService.getUserDetailsById(savedUserId)).isPresent();
+            savedUserIds.add(savedUserId);
+        }
+        
+        // Delete the saved users along with a non-existent user ID
+        final var userIds = new ArrayList<>(savedUserIds);
+        userIds.add(UUID.randomUUID());
+        final var deletedCount = persistenceService.deleteUsers(userIds);
+        
+        // Verify that only the saved users are reported as deleted and their cached details are evicted
+        assertThat(deletedCount).isEqualTo(savedUserIds.size());
+        savedUserIds.forEach(userId -> {
+            assertThat(cacheService.fetch("users:" + userId, UserDto.class)).isEmpty();
+            assertThat(persistenceService.getUserDetailsById(userId)).isEmpty();
+            assertThrows(EntityNotFoundException.class, () -> persistenceService.getUserById(userId));
+        });
+    }
+    
+    @Test
+    void shouldServeUserRecordFromSecondLevelCache() {
+        // Prepare test data and save the user record in datasource
+        final var country = persistenceService.getAllCountries().stream().findAny().orElse(null);
+        final var user = new User();
+        user.setFirstName(RandomString.make(10));
+        user.setLastName(RandomString.make(10));
+        user.setCountry(country);
+        final var savedUserId = persistenceService.saveUser(user);
+        final var statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        final var hitCount = statistics.getDomainDataRegionStatistics("users").getHitCount();
+        
+        // Fetch the user and verify that it is served from the second-level cache
+        final var fetchedUser = persistenceService.getUserById(savedUserId);
+        assertThat(fetchedUser.getFirstName()).isEqualTo(user.getFirstName());
+        assertThat(statistics.getDomainDataRegionStatistics("users").getHitCount()).isGreaterThan(hitCount);
+    }
+    
+    @Test
+    void shouldResolveCountryOfLoadedUserFromSecondLevelCache() {
+        // Prepare test data, save the user record in datasource and evict it from the second-level cache
+        final var country = persistenceService.getAllCountries().stream().findAny().orElse(null);
+        final var user = new User();
+        user.setFirstName(RandomString.make(10));
+        user.setLastName(RandomString.make(10));
+        user.setCountry(country);
+        final var savedUserId = persistenceService.saveUser(user);
+        entityManagerFactory.getCache().evict(User.class);
+        final var statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        final var countryLoadCount = statistics.getEntityStatistics(Country.class.getName()).getLoadCount();
+        final var countryHitCount = statistics.getDomainDataRegionStatistics("countries").getHitCount();
+        
+        // Load the user through the repository outside of a transaction and verify that its country is initialized
+        final var fetchedUser = userRepository.findById(savedUserId).orElseThrow();
+        assertThat(Hibernate.isInitialized(fetchedUser.getCountry())).isTrue();
+        assertThat(fetchedUser.getCountry().getName()).isEqualTo(country.getName());
+        
+        // Verify that the country is served from the second-level cache rather than the datasource
+        assertThat(statistics.getEntityStatistics(Country.class.getName()).getLoadCount()).isEqualTo(countryLoadCount);
+        assertThat(statistics.getDomainDataRegionStatistics("countries").getHitCount()).isGreaterThan(countryHitCount);
+    }
+    
+    @Test
+    void shouldServeUserDetailsFromCacheAndEvictOnDeletion() {
+        // Prepare test data and save the user record in datasource
+        final var country = persistenceService.getAllCountries().stream().findAny().orElse(null);
+        final var user = new User();
+        user.setFirstName(RandomString.make(10));
+        user.setLastName(RandomString.make(10));
+        user.setCountry(country);
+        final var savedUserId = persistenceService.saveUser(user);
+        final var cacheKey = "users:" + savedUserId;
+        
+        // Fetch the user details and verify that they are cached post retrieval from the datasource
+        assertThat(cacheService.fetch(cacheKey, UserDto.class)).isEmpty();
+        final var fetchedUser = persistenceService.getUserDetailsById(savedUserId);
+        assertThat(fetchedUser).isPresent();
+        assertThat(fetchedUser.get().firstName()).isEqualTo(user.getFirstName());
+        assertThat(fetchedUser.get().countryId()).isEqualTo(country.getId());
+        assertThat(fetchedUser.get().countryName()).isEqualTo(country.getName());
+        assertThat(cacheService.fetch(cacheKey, UserDto.class)).contains(fetchedUser.get());
+        
+        // Delete the user record and verify that the cached details are evicted
+        persistenceService.deleteUser(savedUserId);
+        assertThat(cacheService.fetch(cacheKey, UserDto.class)).isEmpty();
+        assertThat(persistenceService.getUserDetailsById(savedUserId)).isEmpty();
+    }
+    
+    @Test
+    void shouldEvictCachedUserDetailsOnlyOnceDeletionCommits() {
+        // Prepare test data, save the user record in datasource and cache its details
+        final var country = persistenceService.getAllCountries().stream().findAny().orElse(null);
+        final var user = new User();
+        user.setFirstName(RandomString.make(10));
+        user.setLastName(RandomString.make(10));
+        user.setCountry(country);
+        final var savedUserId = persistenceService.saveUser(user);
+        final var cacheKey = "users:" + savedUserId;
+        assertThat(persistenceService.getUserDetailsById(savedUserId)).isPresent();
+        
+        // Delete the user record within an enclosing transaction and verify that the cached details
+        // are retained until it commits
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            persistenceService.deleteUser(savedUserId);
+            assertThat(cacheService.fetch(cacheKey, UserDto.class)).isPresent();
+        });
+        
+        // Verify that the cached details are evicted post commit
+        assertThat(cacheService.fetch(cacheKey, UserDto.class)).isEmpty();
+        assertThat(persistenceService.getUserDetailsById(savedUserId)).isEmpty();
+    }
+    
+    @Test
+    void shouldCacheAbsenceOfNonExistentUser() {
+        // Generate a random user ID not present in the datasource
+        final var userId = UUID.randomUUID();
+        
+        // Fetch the user details and verify that the absence is cached
+        assertThat(persistenceService.getUserDetailsById(userId)).isEmpty();
+        final var cachedUser = cacheService.fetch("users:" + userId, UserDto.class);
+        assertThat(cachedUser).isPresent();
+        assertThat(cachedUser.get().id()).isNull();
+        
+        // Verify that subsequent lookups are served as absent
+        assertThat(persistenceService.getUserDetailsById(userId)).isEmpty();
+    }
+    
+    @Test
+    void shouldImportUserRecordsInBulkFromNewlineDelimitedJson() {
+        // Prepare test data spanning multiple batches with a shared last name to identify imported records
+        final var userCount = 2500;
+        final var lastName = RandomString.make(10);
+        final var country = persistenceService.getAllCountries().stream().findAny().orElse(null);
+        final var userRecords = new StringBuilder();
+        for (int index = 0; index < userCount; index++) {
+            userRecords.append(String.format("{\"firstName\":\"%s\",\"lastName\":\"%s\",\"countryId\":%d}%n",
+                    RandomString.make(10), lastName, country.getId()));
+        }
+        final var inputStream = new ByteArrayInputStream(userRecords.toString().getBytes(StandardCharsets.UTF_8));
+        
+        // Import the user records in bulk
+        final var importedCount = persistenceService.importUsers(inputStream);
+        
+        // Verify that all user records are imported in the datasource
+        assertThat(importedCount).isEqualTo(userCount);
+        final var savedCount = new JdbcTemplate(dataSource).queryForObject(
+                "SELECT COUNT(*) FROM users WHERE last_name = ? AND country_id = ?", Integer.class, lastName, country.getId());
+        assertThat(savedCount).isEqualTo(userCount);
+    }
+    
+    @Test
+    void shouldExportAllUserRecordsAcrossPages() {
+        // Prepare test data spanning multiple pages
+        final var country = persistenceService.getAllCountries().stream().findAny().orElse(null);
+        final var savedUserIds = new ArrayList<UUID>();
+        for (int index = 0; index < 250; index++) {
+            final var user = new User();
+            user.setFirstName(RandomString.make(10));
+            user.setLastName(RandomString.make(10));
+            user.setCountry(country);
+            savedUserIds.add(persistenceService.saveUser(user));
+        }
+        
+        // Export the details of all user records
+        final var exportedUsers = new ArrayList<UserDto>();
+        final var exportedCount = persistenceService.exportUsers(exportedUsers::add);
+        
+        // Verify that every user record is exported exactly once along with its country details
+        final var userCount = new JdbcTemplate(dataSource).queryForObject("SELECT COUNT(*) FROM users", Long.class);
+        final var exportedUserIds = exportedUsers.stream().map(UserDto::id).toList();
+        assertThat(exportedCount).isEqualTo(userCount).isEqualTo(exportedUsers.size());
+        assertThat(new HashSet<>(exportedUserIds)).hasSize(exportedUsers.size());
+        assertThat(exportedUserIds).containsAll(savedUserIds);
+        assertThat(exportedUsers).filteredOn(user -> savedUserIds.contains(user.id()))
+            .allSatisfy(user -> assertThat(user.countryName()).isEqualTo(country.getName()));
+    }
+    
+    @Test
+    @SneakyThrows
+    void shouldServeConcurrentQueriesFromPooledConnections() {
+        final var jdbcTemplate = new JdbcTemplate(dataSource);
+        final var threadCount = 8;
+        final var queriesPerThread = 100;
+        final var connectionsCreatedBefore = meterRegistry.get("hikaricp.connections.creation").tag("pool", POOL_NAME).timer().count();
+        
+        // Execute concurrent queries against the pooled datasource
+        final var tasks = new ArrayList<Callable<Void>>();
+        for (int thread = 0; thread < threadCount; thread++) {
+            tasks.add(() -> {
+                for (int query = 0; query < queriesPerThread; query++) {
+                    jdbcTemplate.queryForObject("SELECT COUNT(*) FROM countries", Integer.class);
+                }
+                return null;
+            });
+        }
+        final var executorService = Executors.newFixedThreadPool(threadCount);
+        try {
+            for (final var future : executorService.invokeAll(tasks)) {
+                future.get();
+            }
+        } finally {
+            executorService.shutdown();
+        }
+        
+        // Verify that no request timed out waiting for a connection and none is left waiting
+        assertThat(meterRegistry.get("hikaricp.connections.timeout").tag("pool", POOL_NAME).counter().count()).isZero();
+        assertThat(meterRegistry.get("hikaricp.connections.pending").tag("pool", POOL_NAME).gauge().value()).isZero();
+        
+        // Verify that the queries reused pooled connections instead of opening one each
+        final var maximumPoolSize = meterRegistry.get("hikaricp.connections.max").tag("pool", POOL_NAME).gauge().value();
+        final var connectionsCreated = meterRegistry.get("hikaricp.connections.creation").tag("pool", POOL_NAME).timer().count() - connectionsCreatedBefore;
+        assertThat(meterRegistry.get("hikaricp.connections").tag("pool", POOL_NAME).gauge().value()).isLessThanOrEqualTo(maximumPoolSize);
+        assertThat(connectionsCreated).isLessThanOrEqualTo((long) maximumPoolSize);
+        assertThat(connectionsCreated).isLessThan(threadCount * queriesPerThread);
+    }
 
 }
\ No newline at end of file
@@ -0,0 +1,109 @@
+package com.behl.receptacle.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import java.util.ArrayList;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.utility.DockerImageName;
+import com.behl.receptacle.dto.UserDto;
+import com.behl.receptacle.entity.User;
+import io.micrometer.core.instrument.MeterRegistry;
+import net.bytebuddy.utility.RandomString;
+
+/**
+ * Verifies that reads meant for read-only use are routed to the configured read replica, and
+ * writes to the primary datasource. The replica is pointed at the same MySQL server as the primary,
+ * routing being observed through the connections acquired from each pool.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+public class PersistenceServiceReadReplicaIT {
+
+    @Autowired
+    private PersistenceService persistenceService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private static MySQLContainer<?> mySQLContainer;
+
+    private static final String PRIMARY_POOL_NAME = "mysql-primary-pool";
+    private static final String REPLICA_POOL_NAME = PRIMARY_POOL_NAME + "-replica-0";
+
+    static {
+        mySQLContainer = new MySQLContainer<>(DockerImageName.parse("mysql:8"));
+        mySQLContainer.start();
+    }
+
+    @DynamicPropertySource
+    static void properties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", mySQLContainer::getJdbcUrl);
+        registry.add("spring.datasource.username", mySQLContainer::getUsername);
+        registry.add("spring.datasource.password", mySQLContainer::getPassword);
+        registry.add("com.behl.receptacle.persistence.read-replicas.instances[0].url", mySQLContainer::getJdbcUrl);
+        registry.add("com.behl.receptacle.persistence.read-replicas.instances[0].username", mySQLContainer::getUsername);
+        registry.add("com.behl.receptacle.persistence.read-replicas.instances[0].password", mySQLContainer::getPassword);
+        registry.add("com.behl.receptacle.persistence.export.page-size", () -> 10);
+    }
+
+    @Test
+    void shouldRouteExportedPagesToReadReplica() {
+        // Save user records spanning multiple pages through the primary datasource
+        final var primaryAcquisitions = getAcquiredConnectionCount(PRIMARY_POOL_NAME);
+        final var savedUserIds = new ArrayList<UUID>();
+        for (int index = 0; index < 25; index++) {
+            savedUserIds.add(persistenceService.saveUser(createUser()));
+        }
+        assertThat(getAcquiredConnectionCount(PRIMARY_POOL_NAME)).isGreaterThan(primaryAcquisitions);
+
+        // Export the details of all user records
+        final var primaryAcquisitionsBeforeExport = getAcquiredConnectionCount(PRIMARY_POOL_NAME);
+        final var replicaAcquisitionsBeforeExport = getAcquiredConnectionCount(REPLICA_POOL_NAME);
+        final var exportedUsers = new ArrayList<UserDto>();
+        persistenceService.exportUsers(exportedUsers::add);
+
+        // Verify that every page is read from the replica and none from the primary datasource
+        assertThat(exportedUsers).extracting(UserDto::id).containsAll(savedUserIds);
+        assertThat(getAcquiredConnectionCount(REPLICA_POOL_NAME) - replicaAcquisitionsBeforeExport).isGreaterThanOrEqualTo(3);
+        assertThat(getAcquiredConnectionCount(PRIMARY_POOL_NAME)).isEqualTo(primaryAcquisitionsBeforeExport);
+    }
+
+    @Test
+    void shouldRouteUserDetailsLookupToReadReplica() {
+        // Save a user record through the primary datasource
+        final var user = createUser();
+        final var savedUserId = persistenceService.saveUser(user);
+
+        // Fetch the details of the saved user
+        final var primaryAcquisitions = getAcquiredConnectionCount(PRIMARY_POOL_NAME);
+        final var replicaAcquisitions = getAcquiredConnectionCount(REPLICA_POOL_NAME);
+        final var fetchedUser = persistenceService.getUserDetailsById(savedUserId);
+
+        // Verify that the details are read from the replica and not from the primary datasource
+        assertThat(fetchedUser).isPresent();
+        assertThat(fetchedUser.get().firstName()).isEqualTo(user.getFirstName());
+        assertThat(getAcquiredConnectionCount(REPLICA_POOL_NAME)).isGreaterThan(replicaAcquisitions);
+        assertThat(getAcquiredConnectionCount(PRIMARY_POOL_NAME)).isEqualTo(primaryAcquisitions);
+    }
+
+    private long getAcquiredConnectionCount(final String poolName) {
+        final var acquireTimer = meterRegistry.find("hikaricp.connections.acquire").tag("pool", poolName).timer();
+        return acquireTimer != null ? acquireTimer.count() : 0;
+    }
+
+    private User createUser() {
+        final var country = persistenceService.getAllCountries().stream().findAny().orElse(null);
+        final var user = new User();
+        user.setFirstName(RandomString.make(10));
+        user.setLastName(RandomString.make(10));
+        user.setCountry(country);
+        return user;
+    }
+
+}